@@ -0,0 +1,452 @@
+package edu.ccrm.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import edu.ccrm.domain.*;
+import edu.ccrm.exception.DuplicateEnrollmentException;
+import edu.ccrm.exception.MaxCreditLimitExceededException;
+import edu.ccrm.exception.TimetableClashException;
+import edu.ccrm.index.GpaLeaderboard.RankEntry;
+import edu.ccrm.index.TranscriptCache;
+import edu.ccrm.io.Json;
+import edu.ccrm.service.CourseService;
+import edu.ccrm.service.EnrollmentService;
+import edu.ccrm.service.StudentQuery;
+import edu.ccrm.service.StudentService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Embedded HTTP/JSON API over the student, course and enrollment services,
+ * built on the JDK's {@code com.sun.net.httpserver}.
+ *
+ * <pre>
+ * GET    /api/students[?active=&amp;bornFrom=&amp;bornTo=&amp;course=&amp;minGpa=&amp;maxGpa=&amp;department=&amp;limit=]
+ * POST   /api/students                         {"regNo","fullName","email","dateOfBirth":"YYYY-MM-DD"}
+ * GET    /api/students/{regNo}                 one student
+ * PUT    /api/students/{regNo}                 any of {"fullName","email","dateOfBirth","active"}
+ * GET    /api/students/{regNo}/transcript      enrollments, grades and GPA
+ * GET    /api/students/{regNo}/rank            class rank and percentile
+ * GET    /api/courses[?department=X|semester=Y]
+ * POST   /api/courses                          {"code","title","credits","department","semester"}
+ * GET    /api/courses/{code}
+ * POST   /api/enrollments                      {"regNo","courseCode"}
+ * PUT    /api/enrollments/{regNo}/{courseCode} {"grade":"A"}
+ * DELETE /api/enrollments/{regNo}/{courseCode}
+ * GET    /api/merit[?department=X][&amp;top=N]
+ * </pre>
+ *
+ * Requests run on virtual threads when the JDK provides them (21+), otherwise
+ * on a bounded pool, so thousands of concurrent clients never mean thousands
+ * of platform threads.
+ *
+ * A server started with {@link #readOnly} serves a replica: write requests are
+ * refused with 405 and every response carries the replica's applied log
+ * position in an {@code X-Replica-Sequence} header.
+ */
+public class ApiServer {
+
+    private static final int BACKLOG = 4096;
+    private static final int TRANSCRIPT_CACHE_SIZE = 4096;
+
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final TranscriptCache<String> transcripts = new TranscriptCache<>(TRANSCRIPT_CACHE_SIZE);
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private LongSupplier replicaSequence; // null on the writer
+
+    public ApiServer(StudentService studentService, CourseService courseService, EnrollmentService enrollmentService) {
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+    }
+
+    /**
+     * Makes this server refuse writes and report how far the replica has caught up.
+     */
+    public ApiServer readOnly(LongSupplier appliedSequence) {
+        this.replicaSequence = appliedSequence;
+        return this;
+    }
+
+    public void start(InetSocketAddress address) throws IOException {
+        // Headers and body are written separately; without TCP_NODELAY every
+        // keep-alive response waits on Nagle's algorithm (~40 ms).
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        server = HttpServer.create(address, BACKLOG);
+        executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+        server.start();
+    }
+
+    public void stop() {
+        if (server == null) return;
+        server.stop(1);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    /**
+     * One virtual thread per request when available, otherwise a fixed pool
+     * sized for mostly CPU-bound in-memory work.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.max(8, Runtime.getRuntime().availableProcessors() * 4));
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+            String method = exchange.getRequestMethod();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            if (replicaSequence != null) {
+                exchange.getResponseHeaders().set("X-Replica-Sequence", String.valueOf(replicaSequence.getAsLong()));
+                if (!method.equals("GET")) {
+                    send(exchange, 405, error("Read-only replica; send writes to the writer instance."));
+                    return;
+                }
+            }
+
+            switch (path[0]) {
+                case "students" -> handleStudents(exchange, method, path, query);
+                case "courses" -> handleCourses(exchange, method, path, query);
+                case "enrollments" -> handleEnrollments(exchange, method, path);
+                case "merit" -> requireGet(exchange, method, () -> meritJson(query));
+                default -> send(exchange, 404, error("Unknown resource."));
+            }
+        } catch (NoSuchElementException e) {
+            sendError(exchange, 404, e.getMessage(), e);
+        } catch (DuplicateEnrollmentException | MaxCreditLimitExceededException | TimetableClashException e) {
+            sendError(exchange, 409, e.getMessage(), e);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            sendError(exchange, 400, e.getMessage(), e);
+        } catch (Exception e) {
+            sendError(exchange, 500, "Internal error: " + e.getMessage(), e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleStudents(HttpExchange exchange, String method, String[] path, Map<String, String> query) throws Exception {
+        if (path.length == 1) {
+            if (method.equals("GET")) {
+                List<Student> students = query.isEmpty()
+                        ? studentService.getAllStudents()
+                        : studentService.findStudents(studentQuery(query));
+                send(exchange, 200, array(students.stream().map(ApiServer::studentJson).toList()));
+            } else if (method.equals("POST")) {
+                Map<String, String> body = readBody(exchange);
+                Student student = new Student(required(body, "fullName"), required(body, "email"),
+                        LocalDate.parse(required(body, "dateOfBirth")), required(body, "regNo"));
+                // Re-adding would replace the student and drop their enrollments; updates go through PUT.
+                if (!studentService.addStudentIfAbsent(student)) {
+                    send(exchange, 409, error("Student " + student.getRegNo() + " already exists."));
+                    return;
+                }
+                send(exchange, 201, studentJson(student));
+            } else {
+                send(exchange, 405, error("Method not allowed."));
+            }
+            return;
+        }
+
+        String sub = path.length > 2 ? path[2] : "";
+        Optional<Student> live = studentService.findStudentByRegNo(path[1]);
+        if (live.isEmpty() && method.equals("GET") && (sub.isEmpty() || sub.equals("transcript"))) {
+            // Students only in archived semesters can be read, never written.
+            StudentRecord archived = studentService.findArchivedStudent(path[1]).orElseThrow(
+                    () -> new NoSuchElementException("No student with registration number " + path[1] + "."));
+            send(exchange, 200, sub.isEmpty() ? studentJson(archived) : transcriptJson(studentJson(archived), archived));
+            return;
+        }
+        Student student = student(path[1]);
+        switch (sub) {
+            case "" -> {
+                if (method.equals("PUT")) {
+                    updateStudent(student, readBody(exchange));
+                    send(exchange, 200, studentJson(student));
+                } else {
+                    requireGet(exchange, method, () -> studentJson(student));
+                }
+            }
+            case "transcript" -> requireGet(exchange, method, () -> transcriptJson(student));
+            case "rank" -> requireGet(exchange, method, () -> rankJson(student));
+            default -> send(exchange, 404, error("Unknown resource."));
+        }
+    }
+
+    // Changes only the fields present in the body, in place, so enrollments are kept.
+    private void updateStudent(Student student, Map<String, String> body) {
+        LocalDate dateOfBirth = body.containsKey("dateOfBirth") ? LocalDate.parse(body.get("dateOfBirth")) : null;
+        synchronized (student) {
+            if (body.containsKey("fullName")) student.setFullName(required(body, "fullName"));
+            if (body.containsKey("email")) student.setEmail(required(body, "email"));
+            if (dateOfBirth != null) student.setDateOfBirth(dateOfBirth);
+            if (body.containsKey("active")) student.setActive(Boolean.parseBoolean(body.get("active")));
+        }
+        studentService.updateStudent(student);
+    }
+
+    private static StudentQuery studentQuery(Map<String, String> query) {
+        StudentQuery.Builder builder = new StudentQuery.Builder();
+        if (query.containsKey("active")) builder.active(Boolean.parseBoolean(query.get("active")));
+        if (query.containsKey("bornFrom") || query.containsKey("bornTo")) {
+            builder.bornBetween(query.containsKey("bornFrom") ? LocalDate.parse(query.get("bornFrom")) : null,
+                    query.containsKey("bornTo") ? LocalDate.parse(query.get("bornTo")) : null);
+        }
+        if (query.containsKey("course")) builder.enrolledIn(query.get("course"));
+        if (query.containsKey("minGpa") || query.containsKey("maxGpa")) {
+            builder.gpaBetween(query.containsKey("minGpa") ? Double.valueOf(query.get("minGpa")) : null,
+                    query.containsKey("maxGpa") ? Double.valueOf(query.get("maxGpa")) : null);
+        }
+        if (query.containsKey("department")) builder.department(query.get("department"));
+        if (query.containsKey("limit")) builder.limit(Integer.parseInt(query.get("limit")));
+        return builder.build();
+    }
+
+    private void handleCourses(HttpExchange exchange, String method, String[] path, Map<String, String> query) throws Exception {
+        if (path.length > 1) {
+            Course course = course(path[1]);
+            requireGet(exchange, method, () -> courseJson(course));
+            return;
+        }
+        if (method.equals("GET")) {
+            List<Course> courses;
+            if (query.containsKey("department")) {
+                courses = courseService.findCoursesByDepartment(query.get("department"));
+            } else if (query.containsKey("semester")) {
+                courses = courseService.findCoursesBySemester(Semester.valueOf(query.get("semester").toUpperCase()));
+            } else {
+                courses = courseService.getAllCourses();
+            }
+            send(exchange, 200, array(courses.stream().map(ApiServer::courseJson).toList()));
+        } else if (method.equals("POST")) {
+            Map<String, String> body = readBody(exchange);
+            Course course = new Course.Builder(required(body, "code"), required(body, "title"))
+                    .credits(Integer.parseInt(required(body, "credits")))
+                    .department(required(body, "department"))
+                    .semester(Semester.valueOf(required(body, "semester").toUpperCase()))
+                    .timeSlots(TimeSlot.parseAll(body.get("timeSlots")))
+                    .build();
+            // Replacing would leave existing enrollments pointing at the old course object.
+            if (!courseService.addCourseIfAbsent(course)) {
+                send(exchange, 409, error("Course " + course.getCode() + " already exists."));
+                return;
+            }
+            send(exchange, 201, courseJson(course));
+        } else {
+            send(exchange, 405, error("Method not allowed."));
+        }
+    }
+
+    private void handleEnrollments(HttpExchange exchange, String method, String[] path) throws Exception {
+        if (path.length == 1 && method.equals("POST")) {
+            Map<String, String> body = readBody(exchange);
+            Student student = student(required(body, "regNo"));
+            enrollmentService.enrollStudent(student, course(required(body, "courseCode")));
+            send(exchange, 201, transcriptJson(student));
+            return;
+        }
+        if (path.length != 3) {
+            send(exchange, 404, error("Unknown resource."));
+            return;
+        }
+
+        Student student = student(path[1]);
+        Course course = course(path[2]);
+        switch (method) {
+            case "PUT" -> {
+                Grade grade = Grade.valueOf(required(readBody(exchange), "grade").toUpperCase());
+                enrollmentService.assignGrade(student, course, grade);
+                send(exchange, 200, transcriptJson(student));
+            }
+            case "DELETE" -> {
+                boolean enrolled = student.getEnrolledCourses().stream()
+                        .anyMatch(e -> e.getCourse().getCode().equals(course.getCode()));
+                if (!enrolled) throw new NoSuchElementException("Student is not enrolled in this course.");
+                enrollmentService.unenrollStudent(student, course);
+                send(exchange, 200, transcriptJson(student));
+            }
+            default -> send(exchange, 405, error("Method not allowed."));
+        }
+    }
+
+    // --- JSON rendering ---
+
+    private static String studentJson(Student s) {
+        return "{\"regNo\":" + Json.quote(s.getRegNo())
+                + ",\"fullName\":" + Json.quote(s.getFullName())
+                + ",\"email\":" + Json.quote(s.getEmail())
+                + ",\"dateOfBirth\":" + Json.quote(String.valueOf(s.getDateOfBirth()))
+                + ",\"department\":" + Json.quote(s.getDepartment())
+                + ",\"active\":" + s.isActive() + "}";
+    }
+
+    private static String studentJson(StudentRecord s) {
+        return "{\"regNo\":" + Json.quote(s.regNo())
+                + ",\"fullName\":" + Json.quote(s.fullName())
+                + ",\"email\":" + Json.quote(s.email())
+                + ",\"dateOfBirth\":" + Json.quote(String.valueOf(s.dateOfBirth()))
+                + ",\"department\":" + Json.quote(Student.departmentOf(s.regNo()))
+                + ",\"active\":" + s.active() + "}";
+    }
+
+    private static String courseJson(Course c) {
+        return "{\"code\":" + Json.quote(c.getCode())
+                + ",\"title\":" + Json.quote(c.getTitle())
+                + ",\"credits\":" + c.getCredits()
+                + ",\"department\":" + Json.quote(c.getDepartment())
+                + ",\"semester\":" + Json.quote(c.getSemester() == null ? null : c.getSemester().name())
+                + ",\"instructor\":" + Json.quote(c.getInstructor() == null ? null : c.getInstructor().getFullName())
+                + ",\"timeSlots\":[" + c.getTimeSlots().stream().map(t -> Json.quote(t.toString())).collect(Collectors.joining(",")) + "]}";
+    }
+
+    // Archived semesters plus the latest committed live record, so the list and GPA agree.
+    // Cached per student until the student's next change.
+    private String transcriptJson(Student student) {
+        return transcripts.get(student.getRegNo(), enrollmentService.getTranscriptVersion(student),
+                () -> transcriptJson(studentJson(student), enrollmentService.getTranscriptRecord(student)));
+    }
+
+    private static String transcriptJson(String studentJson, StudentRecord record) {
+        List<String> enrollments = record.enrollments().stream()
+                .map(e -> "{\"courseCode\":" + Json.quote(e.courseCode())
+                        + ",\"title\":" + Json.quote(e.courseTitle())
+                        + ",\"credits\":" + e.credits()
+                        + ",\"grade\":" + Json.quote(e.grade() == null ? null : e.grade().name())
+                        + ",\"enrolledOn\":" + Json.quote(e.enrollmentDate().toLocalDate().toString()) + "}")
+                .toList();
+        return "{\"student\":" + studentJson
+                + ",\"enrollments\":" + array(enrollments)
+                + ",\"gpa\":" + String.format("%.2f", record.gpa()) + "}";
+    }
+
+    private String rankJson(Student student) {
+        OptionalInt rank = enrollmentService.getClassRank(student);
+        OptionalDouble percentile = enrollmentService.getPercentile(student);
+        return "{\"regNo\":" + Json.quote(student.getRegNo())
+                + ",\"rank\":" + (rank.isPresent() ? rank.getAsInt() : "null")
+                + ",\"percentile\":" + (percentile.isPresent() ? String.format("%.2f", percentile.getAsDouble()) : "null") + "}";
+    }
+
+    private String meritJson(Map<String, String> query) {
+        int top = Integer.parseInt(query.getOrDefault("top", "10"));
+        String department = query.get("department");
+        List<RankEntry> merit = (department == null)
+                ? enrollmentService.getMeritList(top)
+                : enrollmentService.getMeritList(department, top);
+        return array(merit.stream()
+                .map(r -> "{\"regNo\":" + Json.quote(r.regNo())
+                        + ",\"department\":" + Json.quote(r.department())
+                        + ",\"gpa\":" + String.format("%.2f", r.gpa()) + "}")
+                .toList());
+    }
+
+    private static String array(List<String> elements) {
+        return "[" + String.join(",", elements) + "]";
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + Json.quote(message) + "}";
+    }
+
+    // --- Request helpers ---
+
+    @FunctionalInterface
+    private interface JsonSupplier {
+        String get() throws Exception;
+    }
+
+    private static void requireGet(HttpExchange exchange, String method, JsonSupplier body) throws Exception {
+        if (method.equals("GET")) send(exchange, 200, body.get());
+        else send(exchange, 405, error("Method not allowed."));
+    }
+
+    private Student student(String regNo) {
+        return studentService.findStudentByRegNo(regNo)
+                .orElseThrow(() -> new NoSuchElementException("No student with registration number " + regNo + "."));
+    }
+
+    private Course course(String code) {
+        return courseService.findCourseByCode(code)
+                .orElseThrow(() -> new NoSuchElementException("No course with code " + code + "."));
+    }
+
+    private static String required(Map<String, String> body, String field) {
+        String value = body.get(field);
+        if (value == null || value.isBlank()) throw new IllegalArgumentException("Missing field '" + field + "'.");
+        return value;
+    }
+
+    private static Map<String, String> readBody(HttpExchange exchange) throws IOException {
+        String text = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        return Json.parseObject(text.isBlank() ? "{}" : text);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return params;
+        for (String pair : rawQuery.split("&")) {
+            String[] kv = pair.split("=", 2);
+            params.put(URLDecoder.decode(kv[0], StandardCharsets.UTF_8),
+                    kv.length > 1 ? URLDecoder.decode(kv[1], StandardCharsets.UTF_8) : "");
+        }
+        return params;
+    }
+
+    // Once the headers are out (e.g. the client went away mid-body) no error response is
+    // possible; report the original failure and let the exchange be closed.
+    private static void sendError(HttpExchange exchange, int status, String message, Exception cause) throws IOException {
+        if (exchange.getResponseCode() != -1) {
+            System.err.println("API " + exchange.getRequestMethod() + " " + exchange.getRequestURI()
+                    + " failed after the response started: " + cause);
+            return;
+        }
+        send(exchange, status, error(message));
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
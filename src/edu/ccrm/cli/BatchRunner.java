@@ -0,0 +1,301 @@
+package edu.ccrm.cli;
+
+import edu.ccrm.config.VersionedStore;
+import edu.ccrm.domain.*;
+import edu.ccrm.io.ColumnarEnrollments;
+import edu.ccrm.io.ConsoleRenderer;
+import edu.ccrm.io.GradeSheetImporter;
+import edu.ccrm.io.ImportExportService;
+import edu.ccrm.io.Json;
+import edu.ccrm.service.*;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Executes a script of one-line commands against the services without any menus,
+ * for nightly jobs and other automation. One thread parses the script while the
+ * calling thread executes the parsed commands in order. All console output is
+ * buffered and written in large blocks, and a one-line JSON summary is printed last.
+ *
+ * <pre>
+ * # comment
+ * add-student 24BCE10001 2006-09-08 divya@example.com Divya Mishra
+ * add-course  CSE2006 3 SCOPE FALL Programming in Java
+ * enroll      24BCE10001 CSE2006
+ * grade       24BCE10001 CSE2006 A
+ * grade-sheet grades/cse2006.csv
+ * unenroll    24BCE10001 CSE2006
+ * deactivate  24BCE10001
+ * transcript  24BCE10001
+ * gpa         24BCE10001
+ * rank        24BCE10001
+ * list-students reports/students.txt
+ * list-courses
+ * export-columnar analytics/enrollments.ccol
+ * save
+ * </pre>
+ */
+public class BatchRunner {
+
+    private static final int QUEUE_CAPACITY = 4096;
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    private record Command(int lineNumber, String text, String name, String[] args) { }
+
+    private record Failure(int lineNumber, String command, String error) { }
+
+    // Marks the end of the script on the queue
+    private static final Command END = new Command(-1, "", "", new String[0]);
+
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final ImportExportService ioService;
+
+    private final List<Failure> failures = new ArrayList<>();
+    private int executed;
+
+    public BatchRunner(StudentService studentService, CourseService courseService,
+                       EnrollmentService enrollmentService, ImportExportService ioService) {
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+        this.ioService = ioService;
+    }
+
+    /**
+     * Runs every command read from the script.
+     *
+     * @return The number of commands that failed.
+     */
+    public int run(Reader script) {
+        PrintStream console = System.out;
+        PrintStream buffered = new PrintStream(new BufferedOutputStream(console, OUTPUT_BUFFER_SIZE), false);
+        BlockingQueue<Command> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+        Thread parser = new Thread(() -> parse(script, queue), "batch-parser");
+        parser.setDaemon(true);
+
+        long start = System.nanoTime();
+        System.setOut(buffered);
+        try {
+            parser.start();
+            Command command;
+            while ((command = queue.take()) != END) {
+                execute(command);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failures.add(new Failure(-1, "", "Batch interrupted."));
+        } finally {
+            buffered.flush();
+            System.setOut(console);
+        }
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        console.println(summary(elapsedMillis));
+        return failures.size();
+    }
+
+    private void parse(Reader script, BlockingQueue<Command> queue) {
+        try (BufferedReader reader = new BufferedReader(script)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.strip();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+                String[] tokens = trimmed.split("\\s+");
+                queue.put(new Command(lineNumber, trimmed, tokens[0].toLowerCase(),
+                        Arrays.copyOfRange(tokens, 1, tokens.length)));
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to read batch script: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                queue.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void execute(Command command) {
+        executed++;
+        try {
+            switch (command.name()) {
+                case "add-student" -> addStudent(command.args());
+                case "add-course" -> addCourse(command.args());
+                case "enroll" -> {
+                    require(command.args(), 2, "enroll <regNo> <courseCode>");
+                    enrollmentService.enrollStudent(student(command.args()[0]), course(command.args()[1]));
+                }
+                case "unenroll" -> unenroll(command.args());
+                case "grade" -> {
+                    require(command.args(), 3, "grade <regNo> <courseCode> <grade>");
+                    Grade grade = Grade.valueOf(command.args()[2].toUpperCase());
+                    enrollmentService.assignGrade(student(command.args()[0]), course(command.args()[1]), grade);
+                }
+                case "grade-sheet" -> {
+                    require(command.args(), 1, "grade-sheet <file.csv>");
+                    GradeSheetImporter.Result result = new GradeSheetImporter(studentService, courseService, enrollmentService)
+                            .importSheet(Paths.get(command.args()[0]));
+                    GradeSheetImporter.printReport(result);
+                    if (!result.rejections().isEmpty()) {
+                        throw new IllegalArgumentException(result.rejections().size() + " grade sheet rows rejected.");
+                    }
+                }
+                case "deactivate" -> {
+                    require(command.args(), 1, "deactivate <regNo>");
+                    Student student = student(command.args()[0]);
+                    student.setActive(false);
+                    studentService.updateStudent(student);
+                }
+                case "transcript" -> {
+                    require(command.args(), 1, "transcript <regNo>");
+                    String regNo = command.args()[0];
+                    Optional<StudentRecord> archived = studentService.findStudentByRegNo(regNo).isPresent()
+                            ? Optional.empty() : studentService.findArchivedStudent(regNo);
+                    if (archived.isPresent()) {
+                        try (ConsoleRenderer renderer = ConsoleRenderer.console()) {
+                            renderer.transcript(archived.get());
+                        }
+                    } else {
+                        enrollmentService.generateTranscript(student(regNo));
+                    }
+                }
+                case "gpa" -> {
+                    require(command.args(), 1, "gpa <regNo>");
+                    Student student = student(command.args()[0]);
+                    System.out.printf("%s GPA %.2f%n", student.getRegNo(), enrollmentService.calculateGpa(student));
+                }
+                case "rank" -> {
+                    require(command.args(), 1, "rank <regNo>");
+                    Student student = student(command.args()[0]);
+                    OptionalInt rank = enrollmentService.getClassRank(student);
+                    System.out.println(student.getRegNo() + " RANK " + (rank.isPresent() ? rank.getAsInt() : "UNRANKED"));
+                }
+                case "list-students" -> {
+                    try (ConsoleRenderer renderer = renderer(command.args())) {
+                        renderer.students(studentService.getAllStudents());
+                    }
+                }
+                case "list-courses" -> {
+                    try (ConsoleRenderer renderer = renderer(command.args())) {
+                        renderer.courses(courseService.getAllCourses());
+                    }
+                }
+                case "export-columnar" -> {
+                    Path file = command.args().length > 0 ? Paths.get(command.args()[0]) : ColumnarEnrollments.DEFAULT_FILE;
+                    try (VersionedStore.Snapshot snapshot = studentService.openSnapshot()) {
+                        int rows = ColumnarEnrollments.write(file, snapshot.students(),
+                                code -> courseService.findCourseByCode(code).orElse(null));
+                        System.out.println(rows + " enrollments exported to " + file);
+                    }
+                }
+                case "save" -> {
+                    ioService.exportCourses(courseService.getAllCourses());
+                    try (VersionedStore.Snapshot snapshot = studentService.openSnapshot()) {
+                        ioService.exportSnapshot(snapshot);
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown command '" + command.name() + "'.");
+            }
+        } catch (Exception e) {
+            failures.add(new Failure(command.lineNumber(), command.text(), e.getMessage()));
+        }
+    }
+
+    private void addStudent(String[] args) {
+        require(args, 4, "add-student <regNo> <YYYY-MM-DD> <email> <full name>");
+        try {
+            LocalDate dob = LocalDate.parse(args[1]);
+            String name = String.join(" ", Arrays.copyOfRange(args, 3, args.length));
+            // A rerun script must not replace an existing student and drop their enrollments.
+            if (!studentService.addStudentIfAbsent(new Student(name, args[2], dob, args[0]))) {
+                throw new IllegalArgumentException("Student " + args[0] + " already exists.");
+            }
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date '" + args[1] + "'. Use YYYY-MM-DD.");
+        }
+    }
+
+    private void addCourse(String[] args) {
+        require(args, 5, "add-course <code> <credits> <department> <semester> <title>");
+        String title = String.join(" ", Arrays.copyOfRange(args, 4, args.length));
+        courseService.addCourse(new Course.Builder(args[0], title)
+                .credits(Integer.parseInt(args[1]))
+                .department(args[2])
+                .semester(Semester.valueOf(args[3].toUpperCase()))
+                .build());
+    }
+
+    private void unenroll(String[] args) {
+        require(args, 2, "unenroll <regNo> <courseCode>");
+        Student student = student(args[0]);
+        Course course = course(args[1]);
+        boolean enrolled = student.getEnrolledCourses().stream()
+                .anyMatch(e -> e.getCourse().getCode().equals(course.getCode()));
+        if (!enrolled) {
+            throw new NoSuchElementException("Student is not enrolled in this course.");
+        }
+        enrollmentService.unenrollStudent(student, course);
+    }
+
+    // Console by default, or the file named by the command's only argument.
+    private static ConsoleRenderer renderer(String[] args) throws IOException {
+        return args.length > 0 ? ConsoleRenderer.toFile(Paths.get(args[0])) : ConsoleRenderer.console();
+    }
+
+    private Student student(String regNo) {
+        return studentService.findStudentByRegNo(regNo)
+                .orElseThrow(() -> new NoSuchElementException("No student with registration number " + regNo + "."));
+    }
+
+    private Course course(String code) {
+        return courseService.findCourseByCode(code)
+                .orElseThrow(() -> new NoSuchElementException("No course with code " + code + "."));
+    }
+
+    private static void require(String[] args, int count, String usage) {
+        if (args.length < count) {
+            throw new IllegalArgumentException("Usage: " + usage);
+        }
+    }
+
+    private String summary(long elapsedMillis) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\"commands\":").append(executed)
+          .append(",\"succeeded\":").append(executed - failures.size())
+          .append(",\"failed\":").append(failures.size())
+          .append(",\"elapsedMs\":").append(elapsedMillis)
+          .append(",\"failures\":[");
+        for (int i = 0; i < failures.size(); i++) {
+            Failure f = failures.get(i);
+            if (i > 0) sb.append(',');
+            sb.append("{\"line\":").append(f.lineNumber())
+              .append(",\"command\":").append(Json.quote(f.command()))
+              .append(",\"error\":").append(Json.quote(f.error()))
+              .append('}');
+        }
+        return sb.append("]}").toString();
+    }
+}
@@ -0,0 +1,365 @@
+package edu.ccrm.cli;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Student;
+import edu.ccrm.io.ImportExportService;
+import edu.ccrm.io.Json;
+import edu.ccrm.io.SyntheticDataGenerator;
+import edu.ccrm.service.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Command-line harness for sizing hardware.
+ * <ul>
+ *   <li>{@code generate <dir> [students=N] [courses=N] [minEnroll=N] [maxEnroll=N] [graded=R] [skew=R] [seed=N]}
+ *       writes a synthetic dataset in the CSV format used by {@link ImportExportService}.</li>
+ *   <li>{@code run <dir> [threads=N] [operations=N] [mix=ENROLL:GRADE:TRANSCRIPT] [seed=N]}
+ *       imports the dataset and replays a mixed workload against the services,
+ *       then reports throughput and latency percentiles per operation.</li>
+ *   <li>{@code http <baseUrl> [clients=N] [requests=N] [seed=N]} drives a running
+ *       {@code Main --serve} instance with N concurrent HTTP clients.</li>
+ * </ul>
+ * Each worker owns a disjoint slice of the students, mirroring real traffic where
+ * a single student's requests arrive one at a time.
+ */
+public class LoadSimulator {
+
+    private enum Operation { ENROLL, GRADE, TRANSCRIPT }
+
+    private static final PrintStream console = System.out;
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            printUsage();
+            return;
+        }
+        Map<String, String> options = parseOptions(args);
+
+        try {
+            switch (args[0]) {
+                case "generate" -> generate(Paths.get(args[1]), options);
+                case "run" -> run(Paths.get(args[1]), options);
+                case "http" -> runHttp(URI.create(args[1].endsWith("/") ? args[1] : args[1] + "/"), options);
+                default -> printUsage();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Load simulation failed: " + e.getMessage());
+        } catch (NumberFormatException e) {
+            System.err.println("Error: Invalid numeric option. " + e.getMessage());
+        }
+    }
+
+    private static void generate(Path directory, Map<String, String> options) throws IOException {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator.Builder()
+                .students(Integer.parseInt(options.getOrDefault("students", "1000")))
+                .courses(Integer.parseInt(options.getOrDefault("courses", "50")))
+                .enrollmentsPerStudent(Integer.parseInt(options.getOrDefault("minEnroll", "3")),
+                        Integer.parseInt(options.getOrDefault("maxEnroll", "7")))
+                .gradedRatio(Double.parseDouble(options.getOrDefault("graded", "0.7")))
+                .popularitySkew(Double.parseDouble(options.getOrDefault("skew", "2.0")))
+                .seed(Long.parseLong(options.getOrDefault("seed", "42")))
+                .build();
+
+        long start = System.nanoTime();
+        generator.generate(directory);
+        System.out.printf("Dataset written to %s in %d ms.%n",
+                directory.toAbsolutePath(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void run(Path directory, Map<String, String> options) {
+        int threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        int operations = Integer.parseInt(options.getOrDefault("operations", "100000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "7"));
+        int[] mix = Arrays.stream(options.getOrDefault("mix", "40:40:20").split(":"))
+                .mapToInt(Integer::parseInt).toArray();
+        if (mix.length != 3) throw new NumberFormatException("mix must have three parts, e.g. 40:40:20");
+
+        StudentService studentService = new StudentServiceImplemenation();
+        CourseService courseService = new CourseServiceImplementation();
+        EnrollmentService enrollmentService = new EnrollmentServiceImplementation();
+        ImportExportService ioService = new ImportExportService(directory);
+
+        // The services report every action on System.out; keep that off the measurements.
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            long importStart = System.nanoTime();
+            ioService.importStudents(studentService);
+            ioService.importCourses(courseService);
+            ioService.importEnrollments(studentService, courseService, enrollmentService);
+            long importMillis = (System.nanoTime() - importStart) / 1_000_000;
+
+            List<Student> students = studentService.getAllStudents();
+            List<Course> courses = courseService.getAllCourses();
+            if (students.isEmpty() || courses.isEmpty()) {
+                console.println("Dataset is empty. Run 'generate' first.");
+                return;
+            }
+            console.printf("Imported %d students and %d courses in %d ms.%n", students.size(), courses.size(), importMillis);
+            console.printf("Running %d operations on %d threads (mix enroll:grade:transcript = %d:%d:%d)...%n",
+                    operations, threads, mix[0], mix[1], mix[2]);
+
+            List<Worker> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                List<Student> slice = new ArrayList<>();
+                for (int s = i; s < students.size(); s += threads) slice.add(students.get(s));
+                int share = operations / threads + (i < operations % threads ? 1 : 0);
+                workers.add(new Worker(slice, courses, enrollmentService, mix, share, new Random(seed + i)));
+            }
+
+            long elapsed = execute(workers);
+            report(workers, elapsed);
+        } finally {
+            System.setOut(console);
+        }
+    }
+
+    /**
+     * Replays transcript (70%), rank (20%) and enroll (10%) requests against the API,
+     * keeping {@code clients} requests in flight at all times.
+     */
+    private static void runHttp(URI baseUri, Map<String, String> options) throws IOException, InterruptedException {
+        int clients = Integer.parseInt(options.getOrDefault("clients", "200"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "20000"));
+        Random random = new Random(Long.parseLong(options.getOrDefault("seed", "7")));
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder().executor(executor).build();
+        try {
+            HttpResponse<String> studentList = client.send(HttpRequest.newBuilder(baseUri.resolve("api/students")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            HttpResponse<String> courseList = client.send(HttpRequest.newBuilder(baseUri.resolve("api/courses")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            List<String> regNos = extractField(studentList.body(), "regNo");
+            List<String> courseCodes = extractField(courseList.body(), "code");
+            if (regNos.isEmpty() || courseCodes.isEmpty()) {
+                console.println("Server has no students or courses to query.");
+                return;
+            }
+            console.printf("Sending %d requests with %d concurrent clients to %s...%n", requests, clients, baseUri);
+
+            String[] names = { "TRANSCRIPT", "RANK", "ENROLL" };
+            long[][] latencies = new long[names.length][requests];
+            AtomicInteger[] counts = { new AtomicInteger(), new AtomicInteger(), new AtomicInteger() };
+            AtomicLong failed = new AtomicLong();
+            Semaphore inFlight = new Semaphore(clients);
+            CountDownLatch done = new CountDownLatch(requests);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                String regNo = regNos.get(random.nextInt(regNos.size()));
+                int roll = random.nextInt(10);
+                int op = roll < 7 ? 0 : roll < 9 ? 1 : 2;
+                HttpRequest request = switch (op) {
+                    case 0 -> HttpRequest.newBuilder(baseUri.resolve("api/students/" + regNo + "/transcript")).build();
+                    case 1 -> HttpRequest.newBuilder(baseUri.resolve("api/students/" + regNo + "/rank")).build();
+                    default -> HttpRequest.newBuilder(baseUri.resolve("api/enrollments"))
+                            .POST(HttpRequest.BodyPublishers.ofString("{\"regNo\":" + Json.quote(regNo)
+                                    + ",\"courseCode\":" + Json.quote(courseCodes.get(random.nextInt(courseCodes.size()))) + "}"))
+                            .build();
+                };
+
+                inFlight.acquire();
+                long sent = System.nanoTime();
+                client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                    long latency = System.nanoTime() - sent;
+                    latencies[op][counts[op].getAndIncrement()] = latency;
+                    // 409 (duplicate / credit limit) is a valid business outcome for enroll
+                    if (error != null || (response.statusCode() >= 400 && response.statusCode() != 409)) failed.incrementAndGet();
+                    inFlight.release();
+                    done.countDown();
+                });
+            }
+            done.await();
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            console.println("\n--- HTTP LOAD REPORT ---");
+            console.printf("Elapsed: %.3f s | Requests: %d | Failed: %d | Throughput: %.0f req/s%n",
+                    seconds, requests, failed.get(), requests / seconds);
+            console.printf("%-11s %9s %10s %10s %10s %10s%n", "Request", "Count", "p50 (us)", "p90 (us)", "p99 (us)", "max (us)");
+            for (int op = 0; op < names.length; op++) {
+                long[] sorted = Arrays.copyOf(latencies[op], counts[op].get());
+                Arrays.sort(sorted);
+                console.printf("%-11s %9d %10.1f %10.1f %10.1f %10.1f%n", names[op], sorted.length,
+                        percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99),
+                        sorted.length == 0 ? 0.0 : sorted[sorted.length - 1] / 1000.0);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // Pulls every value of a string field out of a JSON array of flat objects.
+    private static List<String> extractField(String json, String field) {
+        List<String> values = new ArrayList<>();
+        String marker = "\"" + field + "\":\"";
+        int index = 0;
+        while ((index = json.indexOf(marker, index)) >= 0) {
+            int start = index + marker.length();
+            int end = json.indexOf('"', start);
+            values.add(json.substring(start, end));
+            index = end;
+        }
+        return values;
+    }
+
+    private static long execute(List<Worker> workers) {
+        ExecutorService executor = Executors.newFixedThreadPool(workers.size());
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Worker worker : workers) {
+            futures.add(executor.submit(() -> {
+                startGate.await();
+                worker.run();
+                return null;
+            }));
+        }
+
+        long start = System.nanoTime();
+        startGate.countDown();
+        try {
+            for (Future<?> future : futures) future.get();
+        } catch (Exception e) {
+            System.err.println("Worker failed: " + e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void report(List<Worker> workers, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        long total = workers.stream().mapToLong(w -> w.completed).sum();
+
+        console.println("\n--- LOAD SIMULATION REPORT ---");
+        console.printf("Elapsed: %.3f s | Operations: %d | Throughput: %.0f ops/s%n", seconds, total, total / seconds);
+        console.printf("%-11s %9s %9s %10s %10s %10s %10s%n", "Operation", "Count", "Rejected", "p50 (us)", "p90 (us)", "p99 (us)", "max (us)");
+        for (Operation op : Operation.values()) {
+            long[] merged = workers.stream()
+                    .flatMapToLong(w -> Arrays.stream(w.latencies[op.ordinal()], 0, w.counts[op.ordinal()]))
+                    .sorted()
+                    .toArray();
+            long rejected = workers.stream().mapToLong(w -> w.rejected[op.ordinal()]).sum();
+            console.printf("%-11s %9d %9d %10.1f %10.1f %10.1f %10.1f%n", op, merged.length, rejected,
+                    percentile(merged, 50), percentile(merged, 90), percentile(merged, 99),
+                    merged.length == 0 ? 0.0 : merged[merged.length - 1] / 1000.0);
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0.0;
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1000.0;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 2; i < args.length; i++) {
+            String[] kv = args[i].split("=", 2);
+            if (kv.length == 2) options.put(kv[0], kv[1]);
+        }
+        return options;
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage:");
+        System.out.println("  LoadSimulator generate <dir> [students=N] [courses=N] [minEnroll=N] [maxEnroll=N] [graded=R] [skew=R] [seed=N]");
+        System.out.println("  LoadSimulator run <dir> [threads=N] [operations=N] [mix=ENROLL:GRADE:TRANSCRIPT] [seed=N]");
+        System.out.println("  LoadSimulator http <baseUrl> [clients=N] [requests=N] [seed=N]");
+    }
+
+    /**
+     * Replays its share of the workload against its own slice of students and
+     * records the latency of every operation.
+     */
+    private static class Worker implements Runnable {
+        private final List<Student> students;
+        private final List<Course> courses;
+        private final EnrollmentService enrollmentService;
+        private final int[] mix;
+        private final int operations;
+        private final Random random;
+        private final Grade[] grades = Grade.values();
+
+        final long[][] latencies = new long[Operation.values().length][];
+        final int[] counts = new int[Operation.values().length];
+        final long[] rejected = new long[Operation.values().length];
+        long completed;
+
+        Worker(List<Student> students, List<Course> courses, EnrollmentService enrollmentService,
+               int[] mix, int operations, Random random) {
+            this.students = students;
+            this.courses = courses;
+            this.enrollmentService = enrollmentService;
+            this.mix = mix;
+            this.operations = operations;
+            this.random = random;
+            for (int i = 0; i < latencies.length; i++) latencies[i] = new long[operations];
+        }
+
+        @Override
+        public void run() {
+            if (students.isEmpty()) return;
+            int mixTotal = mix[0] + mix[1] + mix[2];
+            for (int i = 0; i < operations; i++) {
+                Student student = students.get(random.nextInt(students.size()));
+                int roll = random.nextInt(mixTotal);
+                Operation op = roll < mix[0] ? Operation.ENROLL
+                        : roll < mix[0] + mix[1] ? Operation.GRADE
+                        : Operation.TRANSCRIPT;
+
+                long start = System.nanoTime();
+                boolean accepted = execute(op, student);
+                long latency = System.nanoTime() - start;
+
+                latencies[op.ordinal()][counts[op.ordinal()]++] = latency;
+                if (!accepted) rejected[op.ordinal()]++;
+                completed++;
+            }
+        }
+
+        private boolean execute(Operation op, Student student) {
+            try {
+                switch (op) {
+                    case ENROLL -> enrollmentService.enrollStudent(student, courses.get(random.nextInt(courses.size())));
+                    case GRADE -> {
+                        List<Enrollment> enrollments = student.getEnrolledCourses();
+                        if (enrollments.isEmpty()) return false;
+                        Course course = enrollments.get(random.nextInt(enrollments.size())).getCourse();
+                        enrollmentService.assignGrade(student, course, grades[random.nextInt(grades.length)]);
+                    }
+                    case TRANSCRIPT -> enrollmentService.generateTranscript(student);
+                }
+                return true;
+            } catch (Exception e) {
+                // Duplicate enrollments and credit-limit violations are expected outcomes.
+                return false;
+            }
+        }
+    }
+}
@@ -1,44 +1,123 @@
 package edu.ccrm.cli;
 
+import edu.ccrm.api.ApiServer;
+import edu.ccrm.config.DataStore;
+import edu.ccrm.config.EventBus;
+import edu.ccrm.config.MutationListener;
+import edu.ccrm.config.VersionedStore;
 import edu.ccrm.domain.*;
 import edu.ccrm.exception.*;
+import edu.ccrm.index.GpaLeaderboard;
+import edu.ccrm.io.ArchiveCatalog;
+import edu.ccrm.io.AutoSaver;
 import edu.ccrm.io.BackupService;
+import edu.ccrm.io.ColumnarEnrollments;
+import edu.ccrm.io.ConsoleRenderer;
+import edu.ccrm.io.DataDirectoryWatcher;
+import edu.ccrm.io.GradeSheetImporter;
 import edu.ccrm.io.ImportExportService;
+import edu.ccrm.io.ImportValidator;
+import edu.ccrm.io.LazyEnrollmentLoader;
+import edu.ccrm.io.ReplicaFollower;
+import edu.ccrm.io.ReplicationLog;
+import edu.ccrm.io.StreamIngestor;
 import edu.ccrm.service.*;
 
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.concurrent.CountDownLatch;
 
 public class Main {
 
+    private static final int EVENT_BUFFER_SIZE = 1 << 14;
+    private static final long INGEST_STATUS_MILLIS = 5000;
+
     // ... (services remain the same) ...
     private static final Scanner scanner = new Scanner(System.in);
     private static final StudentService studentService = new StudentServiceImplemenation();
     private static final CourseService courseService = new CourseServiceImplementation();
     private static final EnrollmentService enrollmentService = new EnrollmentServiceImplementation();
+    private static final InstructorService instructorService = new InstructorServiceImplementation();
     private static final ImportExportService ioService = new ImportExportService();
     private static final BackupService backupService = new BackupService();
+    private static final EventBus eventBus = new EventBus(EVENT_BUFFER_SIZE);
+    private static final AutoSaver autoSaver = new AutoSaver(ioService, backupService,
+            studentService, courseService, instructorService);
+
+    // --lazy: read enrollments on first access; --no-warmup: don't preload the rest in the background
+    private static boolean lazyEnrollments;
+    private static boolean warmUpEnrollments = true;
+    // --autosave <seconds> (0: only at exit) and --backup-every <minutes> (0: never)
+    private static long autoSaveSeconds = 30;
+    private static long backupMinutes;
+    // --follow: keep tailing the --ingest file; --workers <n>: ingestion worker threads
+    private static boolean followIngest;
+    private static long ingestWorkers = Runtime.getRuntime().availableProcessors();
 
 
     public static void main(String[] args) {
+        List<String> options = new ArrayList<>(List.of(args));
+        lazyEnrollments = options.remove("--lazy");
+        warmUpEnrollments = !options.remove("--no-warmup");
+        autoSaveSeconds = longOption(options, "--autosave", autoSaveSeconds);
+        backupMinutes = longOption(options, "--backup-every", backupMinutes);
+        followIngest = options.remove("--follow");
+        ingestWorkers = longOption(options, "--workers", ingestWorkers);
+        args = options.toArray(new String[0]);
+
+        if (args.length > 0 && args[0].equals("--batch")) {
+            runBatch(args.length > 1 ? args[1] : "-");
+            return;
+        }
+        if (args.length > 1 && args[0].equals("--restore")) {
+            restoreBackup(Paths.get(args[1]));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--validate")) {
+            validateImportFiles(Paths.get(args.length > 1 ? args[1] : "data"));
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--replica")) {
+            runReplica(args.length > 1 ? Integer.parseInt(args[1]) : 8081,
+                    args.length > 2 ? Paths.get(args[2]) : ReplicationLog.DEFAULT_LOG);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--ingest")) {
+            runIngest(args.length > 1 ? args[1] : "-");
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--serve")) {
+            runServer(args.length > 1 ? Integer.parseInt(args[1]) : 8080);
+            return;
+        }
+
         System.out.println("Welcome to the Campus Course & Records Manager!");
         
         // --- UPDATED IMPORT SECTION ---
         System.out.println("Loading data from files...");
-        ioService.importStudents(studentService);
-        ioService.importCourses(courseService);
-        // Enrollments must be imported last as they depend on students and courses
-        ioService.importEnrollments(studentService, courseService, enrollmentService);
+        loadData();
 
         // This check can be removed, as data will now persist
         if (studentService.getAllStudents().isEmpty() && courseService.getAllCourses().isEmpty()) {
             System.out.println("No data found. You can add new students and courses.");
         }
+        DataDirectoryWatcher watcher = startWatcher();
+        ReplicationLog replicationLog = startEventConsumers();
 
         boolean exit = false;
         do {
@@ -56,15 +135,256 @@ public class Main {
         } while (!exit);
         
         // --- UPDATED EXPORT SECTION ---
-        System.out.println("Saving all data to files...");
-        ioService.exportStudents(studentService.getAllStudents());
-        ioService.exportCourses(courseService.getAllCourses());
-        ioService.exportEnrollments(studentService.getAllStudents());
+        if (watcher != null) watcher.close(); // don't reload our own save
+        drainEvents(); // changes still in the ring are only marked unsaved once delivered
+        System.out.println(autoSaver.hasUnsavedChanges() ? "Saving unsaved changes..." : "All changes already saved.");
+        stopEventConsumers(replicationLog);
 
         System.out.println("Thank you for using CCRM. Goodbye!");
         scanner.close();
     }
+
+    private static void loadData() {
+        DataStore.getInstance().archives.mountAll(ArchiveCatalog.DEFAULT_ARCHIVE_DIR);
+        ioService.importInstructors(instructorService);
+        ioService.importStudents(studentService);
+        ioService.importCourses(courseService, instructorService);
+        // Enrollments must be imported last as they depend on students and courses
+        if (!lazyEnrollments) {
+            ioService.importEnrollments(studentService, courseService, enrollmentService,
+                    DataStore.getInstance().archives);
+            enrollmentService.rankArchivedStudents();
+            return;
+        }
+        LazyEnrollmentLoader loader = ioService.indexEnrollments(studentService, courseService, enrollmentService,
+                DataStore.getInstance().archives);
+        enrollmentService.rankArchivedStudents();
+        if (loader == null || loader.isComplete()) return;
+        DataStore.getInstance().lazyEnrollments = loader;
+        System.out.println("Indexed enrollments for " + loader.getPendingCount() + " students; loading them on demand.");
+        if (warmUpEnrollments) loader.startWarmUp();
+    }
+
+    /**
+     * Starts hot reload of the data/ CSV files. Reload is best-effort, so a
+     * failure here only disables it.
+     */
+    private static DataDirectoryWatcher startWatcher() {
+        try {
+            DataDirectoryWatcher watcher = new DataDirectoryWatcher(Paths.get("data"),
+                    studentService, courseService, enrollmentService);
+            watcher.start();
+            return watcher;
+        } catch (IOException e) {
+            System.err.println("Hot reload disabled: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Publishes every change from here on, through the event bus, to the
+     * replication log for replicas to follow and to the auto-saver, then starts
+     * the auto-save and backup schedules. Replication is optional, so a failure
+     * only disables it.
+     *
+     * @return The replication log, or null if it could not be created.
+     */
+    private static ReplicationLog startEventConsumers() {
+        ReplicationLog log = null;
+        try {
+            log = ReplicationLog.create(ReplicationLog.DEFAULT_LOG);
+            eventBus.subscribe("replication-log", log);
+        } catch (IOException e) {
+            System.err.println("Replication disabled: " + e.getMessage());
+        }
+        eventBus.subscribe("auto-save", autoSaver);
+        eventBus.start();
+        DataStore.getInstance().mutationListener = eventBus;
+        autoSaver.start(autoSaveSeconds, backupMinutes);
+        return log;
+    }
+
+    /**
+     * Delivers every published change, writes what auto-save has not saved yet
+     * and closes the replication log.
+     */
+    private static void stopEventConsumers(ReplicationLog log) {
+        drainEvents();
+        autoSaver.close();
+        if (log == null) return;
+        try {
+            log.close();
+        } catch (IOException e) {
+            System.err.println("Could not close replication log: " + e.getMessage());
+        }
+    }
+
+    // Stops publishing and lets every consumer see the changes already published; safe to repeat.
+    private static void drainEvents() {
+        DataStore.getInstance().mutationListener = MutationListener.NONE;
+        eventBus.close();
+    }
+
+    // Removes "name value" from the options and returns the value, or the default if absent.
+    private static long longOption(List<String> options, String name, long defaultValue) {
+        int at = options.indexOf(name);
+        if (at < 0 || at + 1 >= options.size()) return defaultValue;
+        long value = Long.parseLong(options.get(at + 1));
+        options.subList(at, at + 2).clear();
+        return value;
+    }
+
+    private static void saveData() {
+        ioService.exportInstructors(instructorService.getAllInstructors());
+        ioService.exportCourses(courseService.getAllCourses());
+        try (VersionedStore.Snapshot snapshot = studentService.openSnapshot()) {
+            ioService.exportSnapshot(snapshot);
+        }
+    }
+
+    /**
+     * Non-interactive mode: runs a command script (or stdin when the path is "-")
+     * and saves the result. Exits with status 1 if any command failed.
+     */
+    private static void runBatch(String scriptPath) {
+        loadData();
+        BatchRunner runner = new BatchRunner(studentService, courseService, enrollmentService, ioService);
+        int failed;
+        try (Reader script = scriptPath.equals("-")
+                ? new InputStreamReader(System.in)
+                : Files.newBufferedReader(Paths.get(scriptPath))) {
+            failed = runner.run(script);
+        } catch (IOException e) {
+            System.err.println("Cannot open batch script: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        saveData();
+        if (failed > 0) System.exit(1);
+    }
+
+    /**
+     * Dry run: checks the import files in a directory without loading them.
+     * Exits with status 1 if any row is invalid.
+     */
+    private static void validateImportFiles(Path directory) {
+        try {
+            List<ImportValidator.FileReport> reports = new ImportValidator().validate(directory);
+            ImportValidator.printReport(reports);
+            if (reports.stream().anyMatch(r -> r.getErrorCount() > 0)) System.exit(1);
+        } catch (IOException e) {
+            System.err.println("Validation failed: " + e.getMessage());
+            System.exit(2);
+        }
+    }
+
+    /**
+     * Restores a compressed backup into data/ before anything is loaded, so the
+     * restored files are not overwritten by an in-memory save.
+     */
+    private static void restoreBackup(Path archive) {
+        try {
+            int files = backupService.restoreCompressedBackup(archive);
+            System.out.println("Restored " + files + " files from " + archive + " into data/.");
+        } catch (IOException e) {
+            System.err.println("Restore failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Serves the JSON API on the loopback interface until the process is stopped,
+     * saving all data on shutdown.
+     */
+    private static void runServer(int port) {
+        loadData();
+        ApiServer server = new ApiServer(studentService, courseService, enrollmentService);
+        try {
+            server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        } catch (IOException e) {
+            System.err.println("Could not start API server: " + e.getMessage());
+            return;
+        }
+        DataDirectoryWatcher watcher = startWatcher();
+        ReplicationLog replicationLog = startEventConsumers();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            if (watcher != null) watcher.close();
+            stopEventConsumers(replicationLog);
+            System.out.println("API server stopped. Data saved.");
+        }));
+        System.out.println("CCRM API listening on http://" + server.getAddress().getHostString() + ":"
+                + server.getAddress().getPort() + "/api/ (Ctrl+C to stop)");
+    }
     
+    /**
+     * Applies a feed of student, course and enrollment records from stdin ("-"),
+     * a named pipe or a file, printing progress every few seconds. Changes are
+     * saved by the auto-saver as they arrive. Without --follow it exits once the
+     * feed ends (status 1 if any record was rejected); with --follow it tails the
+     * file until the process is stopped.
+     */
+    private static void runIngest(String source) {
+        loadData();
+        ReplicationLog replicationLog = startEventConsumers();
+        StreamIngestor ingestor = new StreamIngestor(studentService, courseService, enrollmentService, (int) ingestWorkers);
+        if (source.equals("-")) {
+            ingestor.start(System.in);
+        } else {
+            ingestor.start(Paths.get(source), followIngest);
+        }
+        // On Ctrl+C, end the feed and let this thread apply what was read and save it.
+        CountDownLatch saved = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            ingestor.close();
+            try {
+                saved.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        System.out.println("[ingest] Reading " + (source.equals("-") ? "stdin" : source)
+                + (followIngest ? " (following; Ctrl+C to stop)" : "") + " with " + ingestWorkers + " workers.");
+        try {
+            while (!ingestor.awaitFinished(INGEST_STATUS_MILLIS)) {
+                System.out.println("[ingest] " + ingestor.getStatus());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        stopEventConsumers(replicationLog);
+        StreamIngestor.Status status = ingestor.getStatus();
+        System.out.println("[ingest] Finished: " + status + ". Data saved.");
+        saved.countDown();
+        if (status.rejected() > 0) System.exit(1);
+    }
+
+    /**
+     * Serves read-only queries from this process's own copy of the data, kept
+     * current by following the writer's replication log. Never saves.
+     */
+    private static void runReplica(int port, Path logFile) {
+        loadData();
+        ReplicaFollower follower = new ReplicaFollower(logFile, studentService, courseService, enrollmentService,
+                DataStore.getInstance().archives);
+        follower.start();
+        ApiServer server = new ApiServer(studentService, courseService, enrollmentService)
+                .readOnly(follower::getAppliedSequence);
+        try {
+            server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        } catch (IOException e) {
+            System.err.println("Could not start replica API server: " + e.getMessage());
+            follower.close();
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            follower.close();
+        }));
+        System.out.println("CCRM read replica following " + logFile + " on http://"
+                + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/api/ (Ctrl+C to stop)");
+    }
+
     // ... (All other methods in Main.java remain the same) ...
     
     private static void printMainMenu() {
@@ -86,6 +406,7 @@ public class Main {
             System.out.println("3. Find Student by Registration Number");
             System.out.println("4. Update Student Details");
             System.out.println("5. Deactivate Student");
+            System.out.println("6. Search Students by Filters");
             System.out.println("9. Back to Main Menu");
             System.out.print("Enter your choice: ");
             String choice = scanner.nextLine();
@@ -96,6 +417,7 @@ public class Main {
                 case "3" -> findStudent();
                 case "4" -> updateStudent();
                 case "5" -> deactivateStudent();
+                case "6" -> searchStudents();
                 case "9" -> back = true;
                 default -> System.out.println("Invalid choice.");
             }
@@ -109,6 +431,10 @@ public class Main {
             System.out.println("1. Add New Course");
             System.out.println("2. List All Courses");
             System.out.println("3. Search Courses by Department");
+            System.out.println("4. Add New Instructor");
+            System.out.println("5. Assign Instructor to Course");
+            System.out.println("6. Teaching Load by Semester");
+            System.out.println("7. Unassigned Courses in Department");
             System.out.println("9. Back to Main Menu");
             System.out.print("Enter your choice: ");
             String choice = scanner.nextLine();
@@ -117,6 +443,10 @@ public class Main {
                 case "1" -> addCourse();
                 case "2" -> listAllCourses();
                 case "3" -> searchCourses();
+                case "4" -> addInstructor();
+                case "5" -> assignInstructor();
+                case "6" -> showTeachingLoads();
+                case "7" -> showUnassignedCourses();
                 case "9" -> back = true;
                 default -> System.out.println("Invalid choice.");
             }
@@ -131,6 +461,10 @@ public class Main {
             System.out.println("2. Unenroll Student from Course");
             System.out.println("3. Assign Grade");
             System.out.println("4. Print Student Transcript");
+            System.out.println("5. Show Student Class Rank");
+            System.out.println("6. Show Merit List");
+            System.out.println("7. Timetable Clash Report");
+            System.out.println("8. Upload Grade Sheet (CSV)");
             System.out.println("9. Back to Main Menu");
             System.out.print("Enter your choice: ");
             String choice = scanner.nextLine();
@@ -140,6 +474,10 @@ public class Main {
                 case "2" -> unenrollStudentFromCourse();
                 case "3" -> assignGradeToStudent();
                 case "4" -> printStudentTranscript();
+                case "5" -> showClassRank();
+                case "6" -> showMeritList();
+                case "7" -> showTimetableClashes();
+                case "8" -> uploadGradeSheet();
                 case "9" -> back = true;
                 default -> System.out.println("Invalid choice.");
             }
@@ -150,19 +488,81 @@ public class Main {
         System.out.println("\n-- File Utilities --");
         System.out.println("1. Create Backup of Current Data");
         System.out.println("2. Show Backup Directory Size");
+        System.out.println("3. Archive a Past Semester");
+        System.out.println("4. Create Compressed Backup (.tar.gz)");
+        System.out.println("5. Export Enrollment Analytics (columnar)");
+        System.out.println("6. Grade Distribution for a Department");
         System.out.print("Enter your choice: ");
         String choice = scanner.nextLine();
         
         switch(choice) {
-            case "1" -> backupService.performBackup();
+            case "1" -> {
+                autoSaver.saveChanges(); // back up the latest state, not the last auto-save
+                backupService.performBackup();
+            }
             case "2" -> {
                 long size = backupService.calculateDirectorySize(Paths.get("backups"));
                 System.out.printf("Total size of backups directory: %.2f KB%n", size / 1024.0);
             }
+            case "3" -> archiveSemester();
+            case "4" -> {
+                autoSaver.saveChanges();
+                backupService.performCompressedBackup();
+            }
+            case "5" -> exportAnalytics();
+            case "6" -> showGradeDistribution();
             default -> System.out.println("Invalid choice.");
         }
     }
 
+    private static void exportAnalytics() {
+        try (VersionedStore.Snapshot snapshot = studentService.openSnapshot()) {
+            int rows = ColumnarEnrollments.write(ColumnarEnrollments.DEFAULT_FILE, snapshot.students(),
+                    code -> courseService.findCourseByCode(code).orElse(null));
+            System.out.println(rows + " enrollments exported to " + ColumnarEnrollments.DEFAULT_FILE + ".");
+        } catch (IOException e) {
+            System.err.println("Analytics export failed: " + e.getMessage());
+        }
+    }
+
+    private static void showGradeDistribution() {
+        System.out.print("Enter Department: "); String department = scanner.nextLine().trim();
+        try (ColumnarEnrollments export = ColumnarEnrollments.open(ColumnarEnrollments.DEFAULT_FILE)) {
+            Map<Grade, Integer> counts = export.gradeCounts(department);
+            if (counts.isEmpty()) {
+                System.out.println("No graded enrollments for department '" + department + "'.");
+                return;
+            }
+            counts.forEach((grade, count) -> System.out.printf("%-3s %d%n", grade, count));
+        } catch (NoSuchFileException e) {
+            System.err.println("No analytics export yet. Run option 5 first.");
+        } catch (IOException e) {
+            System.err.println("Could not read analytics export: " + e.getMessage());
+        }
+    }
+
+    private static void archiveSemester() {
+        try {
+            System.out.print("Enter Semester to archive (FALL, INTERIM, WINTER): "); Semester semester = Semester.valueOf(scanner.nextLine().toUpperCase());
+            System.out.print("Enter Archive Label (e.g., FALL-2025): "); String label = scanner.nextLine().trim();
+            if (label.isEmpty()) {
+                System.err.println("Error: Archive label cannot be empty.");
+                return;
+            }
+            int count = DataStore.getInstance().archives.archiveSemester(semester, label,
+                    ArchiveCatalog.DEFAULT_ARCHIVE_DIR, studentService, enrollmentService);
+            System.out.println(count + " enrollments moved to archive '" + label + "'.");
+            // Save now rather than at the next auto-save, so enrollments.csv stops listing them
+            try (VersionedStore.Snapshot snapshot = studentService.openSnapshot()) {
+                ioService.exportSnapshot(snapshot);
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: Invalid semester.");
+        } catch (IOException e) {
+            System.err.println("Archive failed: " + e.getMessage());
+        }
+    }
+
     private static void addStudent() {
         try {
             System.out.print("Enter Full Name: "); String name = scanner.nextLine();
@@ -183,14 +583,21 @@ public class Main {
         System.out.println("\n--- All Students ---");
         List<Student> students = studentService.getAllStudents();
         if (students.isEmpty()) System.out.println("No students found.");
-        else students.forEach(student -> System.out.println(student.getProfileDetails()));
+        else try (ConsoleRenderer renderer = ConsoleRenderer.console()) {
+            renderer.students(students);
+        }
     }
     
     private static void findStudent() {
         System.out.print("Enter student registration number to find: ");
         String regNo = scanner.nextLine();
-        studentService.findStudentByRegNo(regNo)
-                .ifPresentOrElse(s -> System.out.println("Found: " + s.getProfileDetails()),
+        Optional<Student> student = studentService.findStudentByRegNo(regNo);
+        if (student.isPresent()) {
+            System.out.println("Found: " + student.get().getProfileDetails());
+            return;
+        }
+        studentService.findArchivedStudent(regNo)
+                .ifPresentOrElse(s -> System.out.println("Found in archives: " + s.getProfileDetails()),
                         () -> System.out.println("No student found with registration number: " + regNo));
     }
     
@@ -221,6 +628,40 @@ public class Main {
         System.out.println("Student record updated successfully.");
     }
     
+    private static void searchStudents() {
+        try {
+            System.out.println("Press Enter to skip any filter.");
+            StudentQuery.Builder query = new StudentQuery.Builder();
+            System.out.print("Active only? (y/n): "); String active = scanner.nextLine().trim();
+            if (!active.isEmpty()) query.active(active.equalsIgnoreCase("y"));
+            System.out.print("Born on or after (YYYY-MM-DD): "); String from = scanner.nextLine().trim();
+            System.out.print("Born on or before (YYYY-MM-DD): "); String to = scanner.nextLine().trim();
+            if (!from.isEmpty() || !to.isEmpty()) {
+                query.bornBetween(from.isEmpty() ? null : LocalDate.parse(from), to.isEmpty() ? null : LocalDate.parse(to));
+            }
+            System.out.print("Enrolled in course code: "); String code = scanner.nextLine().trim();
+            if (!code.isEmpty()) query.enrolledIn(code);
+            System.out.print("Minimum GPA: "); String min = scanner.nextLine().trim();
+            System.out.print("Maximum GPA: "); String max = scanner.nextLine().trim();
+            if (!min.isEmpty() || !max.isEmpty()) {
+                query.gpaBetween(min.isEmpty() ? null : Double.valueOf(min), max.isEmpty() ? null : Double.valueOf(max));
+            }
+            System.out.print("Department (e.g., BCE): "); String dept = scanner.nextLine().trim();
+            if (!dept.isEmpty()) query.department(dept);
+
+            StudentQuery built = query.build();
+            List<Student> results = studentService.findStudents(built);
+            System.out.println("\n--- " + results.size() + " matching students (via " + studentService.explain(built) + ") ---");
+            try (ConsoleRenderer renderer = ConsoleRenderer.console()) {
+                renderer.students(results);
+            }
+        } catch (DateTimeParseException e) {
+            System.err.println("Error: Invalid date format. Please use YYYY-MM-DD.");
+        } catch (NumberFormatException e) {
+            System.err.println("Error: Please enter a valid GPA.");
+        }
+    }
+
     private static void deactivateStudent() {
         System.out.print("Enter Registration Number of student to deactivate: ");
         String regNo = scanner.nextLine();
@@ -242,12 +683,17 @@ public class Main {
             System.out.print("Enter Course Title: "); String title = scanner.nextLine();
             System.out.print("Enter Credits: "); int credits = Integer.parseInt(scanner.nextLine());
             System.out.print("Enter Department: "); String dept = scanner.nextLine();
-            
-            Course newCourse = new Course.Builder(code, title).credits(credits).department(dept).semester(Semester.FALL).build();
+            System.out.print("Enter Weekly Time Slots (e.g., MON 09:00-09:50;WED 09:00-09:50) or press Enter to skip: ");
+            List<TimeSlot> slots = TimeSlot.parseAll(scanner.nextLine());
+
+            Course newCourse = new Course.Builder(code, title).credits(credits).department(dept).semester(Semester.FALL)
+                    .timeSlots(slots).build();
             courseService.addCourse(newCourse);
             System.out.println("Course added successfully: " + title);
         } catch (NumberFormatException e) {
             System.err.println("Error: Invalid number format for credits.");
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
         }
     }
     
@@ -255,7 +701,9 @@ public class Main {
         System.out.println("\n--- All Courses ---");
         List<Course> courses = courseService.getAllCourses();
         if (courses.isEmpty()) System.out.println("No courses found.");
-        else courses.forEach(System.out::println);
+        else try (ConsoleRenderer renderer = ConsoleRenderer.console()) {
+            renderer.courses(courses);
+        }
     }
     
     private static void searchCourses() {
@@ -264,6 +712,61 @@ public class Main {
         List<Course> results = courseService.findCoursesByDepartment(dept);
         System.out.println("\n--- Courses in '" + dept + "' ---");
         if (results.isEmpty()) System.out.println("No courses found for this department.");
+        else try (ConsoleRenderer renderer = ConsoleRenderer.console()) {
+            renderer.courses(results);
+        }
+    }
+
+    private static void addInstructor() {
+        try {
+            System.out.print("Enter Instructor ID (e.g., I001): "); String id = scanner.nextLine();
+            System.out.print("Enter Full Name: "); String name = scanner.nextLine();
+            System.out.print("Enter Email: "); String email = scanner.nextLine();
+            System.out.print("Enter Date of Birth (YYYY-MM-DD): "); LocalDate dob = LocalDate.parse(scanner.nextLine());
+            System.out.print("Enter Employee ID: "); String employeeId = scanner.nextLine();
+            System.out.print("Enter Department: "); String dept = scanner.nextLine();
+
+            instructorService.addInstructor(new Instructor(id, name, email, dob, employeeId, dept));
+            System.out.println("Instructor '" + name + "' added successfully.");
+        } catch (DateTimeParseException e) {
+            System.err.println("Error: Invalid date format. Please use YYYY-MM-DD.");
+        }
+    }
+
+    private static void assignInstructor() {
+        System.out.print("Enter Course Code: "); String code = scanner.nextLine();
+        System.out.print("Enter Instructor ID: "); String id = scanner.nextLine();
+
+        Optional<Course> courseOpt = courseService.findCourseByCode(code);
+        Optional<Instructor> instructorOpt = instructorService.findInstructorById(id);
+        if (courseOpt.isEmpty() || instructorOpt.isEmpty()) {
+            System.err.println("Error: Course or Instructor not found.");
+            return;
+        }
+        instructorService.assignInstructor(courseOpt.get(), instructorOpt.get());
+        System.out.println(instructorOpt.get().getFullName() + " now teaches " + courseOpt.get().getTitle() + ".");
+    }
+
+    private static void showTeachingLoads() {
+        try {
+            System.out.print("Enter Semester (FALL, INTERIM, WINTER): ");
+            Semester semester = Semester.valueOf(scanner.nextLine().trim().toUpperCase());
+            Map<Instructor, Integer> loads = instructorService.getTeachingLoads(semester);
+            System.out.println("\n--- Teaching Load (" + semester + ") ---");
+            if (loads.isEmpty()) System.out.println("No instructors are assigned courses this semester.");
+            loads.forEach((instructor, credits) ->
+                    System.out.printf("%-8s %-25s %3d credits%n", instructor.getId(), instructor.getFullName(), credits));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: Unknown semester.");
+        }
+    }
+
+    private static void showUnassignedCourses() {
+        System.out.print("Enter department: ");
+        String dept = scanner.nextLine();
+        List<Course> results = instructorService.findUnassignedCourses(dept);
+        System.out.println("\n--- Courses in '" + dept + "' without an instructor ---");
+        if (results.isEmpty()) System.out.println("Every course in this department has an instructor.");
         else results.forEach(System.out::println);
     }
 
@@ -326,11 +829,74 @@ public class Main {
         }
     }
     
+    private static void uploadGradeSheet() {
+        System.out.print("Enter path to grade sheet (regNo,courseCode,grade per line): ");
+        Path sheet = Paths.get(scanner.nextLine().trim());
+        try {
+            GradeSheetImporter importer = new GradeSheetImporter(studentService, courseService, enrollmentService);
+            GradeSheetImporter.printReport(importer.importSheet(sheet));
+        } catch (IOException e) {
+            System.err.println("Could not read grade sheet: " + e.getMessage());
+        }
+    }
+
     private static void printStudentTranscript() {
         System.out.print("Enter student registration number for transcript: ");
         String regNo = scanner.nextLine();
-        studentService.findStudentByRegNo(regNo)
-                .ifPresentOrElse(enrollmentService::generateTranscript,
-                        () -> System.out.println("No student found with registration number: " + regNo));
+        Optional<Student> student = studentService.findStudentByRegNo(regNo);
+        if (student.isPresent()) {
+            enrollmentService.generateTranscript(student.get());
+            return;
+        }
+        // Only in archived semesters: a read-only transcript of their archived enrollments
+        Optional<StudentRecord> archived = studentService.findArchivedStudent(regNo);
+        if (archived.isEmpty()) {
+            System.out.println("No student found with registration number: " + regNo);
+            return;
+        }
+        try (ConsoleRenderer renderer = ConsoleRenderer.console()) {
+            renderer.transcript(archived.get());
+        }
+    }
+
+    private static void showClassRank() {
+        System.out.print("Enter student registration number: ");
+        String regNo = scanner.nextLine();
+        Optional<Student> studentOpt = studentService.findStudentByRegNo(regNo);
+        if (studentOpt.isEmpty()) {
+            System.out.println("No student found with registration number: " + regNo);
+            return;
+        }
+        Student student = studentOpt.get();
+        enrollmentService.getClassRank(student).ifPresentOrElse(
+                rank -> System.out.printf("%s is ranked #%d (percentile %.1f).%n",
+                        student.getFullName(), rank, enrollmentService.getPercentile(student).orElse(0.0)),
+                () -> System.out.println(student.getFullName() + " has no graded courses yet."));
+    }
+
+    private static void showTimetableClashes() {
+        List<TimetableClash> clashes = enrollmentService.findTimetableClashes();
+        System.out.println("\n--- Timetable Clash Report ---");
+        if (clashes.isEmpty()) System.out.println("No student has overlapping courses.");
+        clashes.forEach(c -> System.out.printf("%-12s %s <-> %s (%s)%n", c.regNo(), c.courseCode(), c.otherCourseCode(), c.semester()));
+    }
+
+    private static void showMeritList() {
+        try {
+            System.out.print("Enter department (or press Enter for all): "); String dept = scanner.nextLine();
+            System.out.print("How many students: "); int topN = Integer.parseInt(scanner.nextLine());
+
+            List<GpaLeaderboard.RankEntry> merit = dept.isBlank()
+                    ? enrollmentService.getMeritList(topN)
+                    : enrollmentService.getMeritList(dept, topN);
+            System.out.println("\n--- Merit List" + (dept.isBlank() ? "" : " (" + dept.toUpperCase() + ")") + " ---");
+            if (merit.isEmpty()) System.out.println("No graded students found.");
+            for (int i = 0; i < merit.size(); i++) {
+                GpaLeaderboard.RankEntry entry = merit.get(i);
+                System.out.printf("%3d. %-12s %-6s GPA: %.2f%n", i + 1, entry.regNo(), entry.department(), entry.gpa());
+            }
+        } catch (NumberFormatException e) {
+            System.err.println("Error: Please enter a valid number.");
+        }
     }
 }
\ No newline at end of file
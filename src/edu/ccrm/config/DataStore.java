@@ -1,23 +1,48 @@
 package edu.ccrm.config;
 
-import edu.ccrm.domain.Course;
 import edu.ccrm.domain.Instructor;
-import edu.ccrm.domain.Student;
-import java.util.HashMap;
+import edu.ccrm.index.GpaLeaderboard;
+import edu.ccrm.index.StudentIndex;
+import edu.ccrm.index.TeachingLoadIndex;
+import edu.ccrm.io.ArchiveCatalog;
+import edu.ccrm.io.LazyEnrollmentLoader;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A Singleton class to hold all in-memory application data.
  * This ensures a single source of truth for students, courses, etc.
  */
 public class DataStore {
-    // 1. The single, private, static instance of the class
-    private static DataStore instance;
+    // 1. The single, private, static instance of the class (created eagerly so it is thread-safe)
+    private static final DataStore instance = new DataStore();
 
-    // Data maps to act as in-memory tables
-    public final Map<String, Student> students = new HashMap<>();
-    public final Map<String, Course> courses = new HashMap<>();
-    public final Map<String, Instructor> instructors = new HashMap<>();
+    // Students and courses, partitioned by department; the services route each operation to a shard
+    public final ShardedStore shards = new ShardedStore();
+
+    // Instructors are few and looked up by ID alone, so they stay in one concurrent map
+    public final Map<String, Instructor> instructors = new ConcurrentHashMap<>();
+
+    // Students ordered by GPA, kept up to date by the enrollment service
+    public final GpaLeaderboard gpaLeaderboard = new GpaLeaderboard();
+
+    // Date-of-birth, active-flag and course-membership indexes for student queries
+    public final StudentIndex studentIndex = new StudentIndex();
+
+    // Instructor credit loads and unassigned courses, kept up to date by the course and instructor services
+    public final TeachingLoadIndex teachingLoad = new TeachingLoadIndex();
+
+    // Versioned copies of student records for snapshot-isolated reads
+    public final VersionedStore versions = new VersionedStore();
+
+    // Memory-mapped, read-only archives of past semesters
+    public final ArchiveCatalog archives = new ArchiveCatalog();
+
+    // Receives every committed change, e.g. to ship it to read replicas; does nothing by default
+    public volatile MutationListener mutationListener = MutationListener.NONE;
+
+    // Saved enrollments not yet read, when started with lazy loading; null once everything is loaded
+    public volatile LazyEnrollmentLoader lazyEnrollments;
 
     // 2. A private constructor to prevent direct instantiation
     private DataStore() {
@@ -26,9 +51,15 @@ public class DataStore {
 
     // 3. A public, static method to get the single instance
     public static DataStore getInstance() {
-        if (instance == null) {
-            instance = new DataStore();
-        }
         return instance;
     }
+
+    /**
+     * Reads any enrollments still pending from a lazy load. Called before work that
+     * needs every student's enrollments, such as rankings, course queries and saves.
+     */
+    public void ensureAllEnrollmentsLoaded() {
+        LazyEnrollmentLoader loader = lazyEnrollments;
+        if (loader != null) loader.loadAll();
+    }
 }
\ No newline at end of file
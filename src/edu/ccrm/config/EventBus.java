@@ -0,0 +1,261 @@
+package edu.ccrm.config;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Instructor;
+import edu.ccrm.domain.Student;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delivers committed changes to consumers on their own threads, so the
+ * services only record an event and never wait for I/O.
+ *
+ * Installed as the {@link DataStore#mutationListener}, the bus copies each change
+ * into a preallocated ring of slots: a producer claims a sequence number with one
+ * atomic increment, fills the slot and publishes it by writing the slot's
+ * sequence. Each subscribed consumer has its own thread and cursor, takes every
+ * published event in order, and is called back through the usual
+ * {@link MutationListener} methods followed by {@link MutationListener#endOfBatch()}
+ * after each run of events it received together. When the ring is full a
+ * producer waits for the slowest consumer, so events are never dropped.
+ *
+ * Consumers see the student or course as it is when they process the event,
+ * which may include later changes; the grade is the one assigned.
+ */
+public class EventBus implements MutationListener, AutoCloseable {
+
+    private enum Type {
+        STUDENT_ADDED, STUDENT_UPDATED, COURSE_ADDED, COURSE_UPDATED, ENROLLED, UNENROLLED, GRADED,
+        INSTRUCTOR_ADDED, INSTRUCTOR_ASSIGNED, SEMESTER_ARCHIVED
+    }
+
+    private static final int SPINS_BEFORE_PARK = 100;
+    private static final long PARK_NANOS = 200_000;
+    private static final long IDLE_PARK_NANOS = 5_000_000;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+    // One preallocated event; a volatile write of sequence publishes the other fields.
+    private static final class Slot {
+        Type type;
+        Student student;
+        Course course;
+        Grade grade;
+        Instructor instructor;
+        Path archiveFile;
+        volatile long sequence = -1;
+    }
+
+    private final class Consumer implements Runnable {
+        private final String name;
+        private final MutationListener listener;
+        private final Thread thread;
+        private volatile long processed = -1; // last sequence handed to the listener
+
+        Consumer(String name, MutationListener listener) {
+            this.name = name;
+            this.listener = listener;
+            this.thread = new Thread(this, "events-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            long next = processed + 1;
+            int idle = 0;
+            while (true) {
+                if (slots[index(next)].sequence != next) {
+                    if (!running && next >= claimed.get()) return; // closed and drained
+                    // Spin briefly, then sleep longer the longer the bus stays quiet.
+                    if (++idle < SPINS_BEFORE_PARK) {
+                        Thread.onSpinWait();
+                    } else {
+                        LockSupport.parkNanos(idle < SPINS_BEFORE_PARK * 10 ? PARK_NANOS : IDLE_PARK_NANOS);
+                    }
+                    continue;
+                }
+                idle = 0;
+                long last = next;
+                while (last + 1 - next < slots.length && slots[index(last + 1)].sequence == last + 1) last++;
+                for (long sequence = next; sequence <= last; sequence++) {
+                    deliver(slots[index(sequence)]);
+                }
+                endOfBatch();
+                processed = last; // frees the slots for producers
+                next = last + 1;
+            }
+        }
+
+        private void deliver(Slot slot) {
+            try {
+                switch (slot.type) {
+                    case STUDENT_ADDED -> listener.studentAdded(slot.student);
+                    case STUDENT_UPDATED -> listener.studentUpdated(slot.student);
+                    case COURSE_ADDED -> listener.courseAdded(slot.course);
+                    case COURSE_UPDATED -> listener.courseUpdated(slot.course);
+                    case ENROLLED -> listener.enrolled(slot.student, slot.course);
+                    case UNENROLLED -> listener.unenrolled(slot.student, slot.course);
+                    case GRADED -> listener.graded(slot.student, slot.course, slot.grade);
+                    case INSTRUCTOR_ADDED -> listener.instructorAdded(slot.instructor);
+                    case INSTRUCTOR_ASSIGNED -> listener.instructorAssigned(slot.course, slot.instructor);
+                    case SEMESTER_ARCHIVED -> listener.semesterArchived(slot.archiveFile);
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Event consumer " + name + " failed on " + slot.type + ": " + e.getMessage());
+            }
+        }
+
+        private void endOfBatch() {
+            try {
+                listener.endOfBatch();
+            } catch (RuntimeException e) {
+                System.err.println("Event consumer " + name + " failed to finish a batch: " + e.getMessage());
+            }
+        }
+    }
+
+    private final Slot[] slots;
+    private final AtomicLong claimed = new AtomicLong();
+    private final List<Consumer> consumers = new ArrayList<>();
+    private volatile boolean running;
+
+    /**
+     * @param capacity Number of slots; rounded up to a power of two.
+     */
+    public EventBus(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1);
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) slots[i] = new Slot();
+    }
+
+    /**
+     * Adds a consumer; all consumers must be subscribed before {@link #start()}.
+     */
+    public synchronized void subscribe(String name, MutationListener listener) {
+        if (running) throw new IllegalStateException("Subscribe consumers before starting the event bus.");
+        consumers.add(new Consumer(name, listener));
+    }
+
+    public synchronized void start() {
+        running = true;
+        consumers.forEach(consumer -> consumer.thread.start());
+    }
+
+    /**
+     * @return How many events have been published.
+     */
+    public long getPublished() {
+        return claimed.get();
+    }
+
+    /**
+     * @return Events published but not yet processed by the slowest consumer.
+     */
+    public long getLag() {
+        return claimed.get() - 1 - minProcessed();
+    }
+
+    @Override
+    public void studentAdded(Student student) {
+        publish(Type.STUDENT_ADDED, student, null, null, null);
+    }
+
+    @Override
+    public void studentUpdated(Student student) {
+        publish(Type.STUDENT_UPDATED, student, null, null, null);
+    }
+
+    @Override
+    public void courseAdded(Course course) {
+        publish(Type.COURSE_ADDED, null, course, null, null);
+    }
+
+    @Override
+    public void courseUpdated(Course course) {
+        publish(Type.COURSE_UPDATED, null, course, null, null);
+    }
+
+    @Override
+    public void enrolled(Student student, Course course) {
+        publish(Type.ENROLLED, student, course, null, null);
+    }
+
+    @Override
+    public void unenrolled(Student student, Course course) {
+        publish(Type.UNENROLLED, student, course, null, null);
+    }
+
+    @Override
+    public void graded(Student student, Course course, Grade grade) {
+        publish(Type.GRADED, student, course, grade, null);
+    }
+
+    @Override
+    public void instructorAdded(Instructor instructor) {
+        publish(Type.INSTRUCTOR_ADDED, null, null, null, instructor);
+    }
+
+    @Override
+    public void instructorAssigned(Course course, Instructor instructor) {
+        publish(Type.INSTRUCTOR_ASSIGNED, null, course, null, instructor);
+    }
+
+    @Override
+    public void semesterArchived(Path archiveFile) {
+        publish(Type.SEMESTER_ARCHIVED, null, null, null, null, archiveFile);
+    }
+
+    private void publish(Type type, Student student, Course course, Grade grade, Instructor instructor) {
+        publish(type, student, course, grade, instructor, null);
+    }
+
+    private void publish(Type type, Student student, Course course, Grade grade, Instructor instructor,
+                         Path archiveFile) {
+        if (!running) return; // not started, or closed: nobody is listening
+        long sequence = claimed.getAndIncrement();
+        // Wait until every consumer is done with the event that last used this slot. Consumers
+        // drain every claimed sequence before they stop, so this ends even if the bus closes meanwhile.
+        while (sequence - slots.length > minProcessed()) {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        Slot slot = slots[index(sequence)];
+        // Delivered even if the bus closed while waiting: the change is already committed.
+        slot.type = type;
+        slot.student = student;
+        slot.course = course;
+        slot.grade = grade;
+        slot.instructor = instructor;
+        slot.archiveFile = archiveFile;
+        slot.sequence = sequence;
+    }
+
+    private long minProcessed() {
+        long min = Long.MAX_VALUE;
+        for (Consumer consumer : consumers) min = Math.min(min, consumer.processed);
+        return consumers.isEmpty() ? claimed.get() - 1 : min;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence & (slots.length - 1));
+    }
+
+    /**
+     * Stops accepting events, lets every consumer finish the events already
+     * published, then stops the consumer threads.
+     */
+    @Override
+    public void close() {
+        running = false;
+        for (Consumer consumer : consumers) {
+            try {
+                consumer.thread.join(CLOSE_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package edu.ccrm.config;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Instructor;
+import edu.ccrm.domain.Student;
+import java.nio.file.Path;
+
+/**
+ * Told about every committed change made through the student, course and
+ * enrollment services, in the order the changes were made for any one student.
+ * Calls happen on the mutating thread, often while the student's lock is held,
+ * so implementations must be quick and must not call back into the services.
+ * Slow consumers, such as ones doing I/O, subscribe to an {@link EventBus}
+ * instead and are called on their own thread.
+ */
+public interface MutationListener {
+
+    MutationListener NONE = new MutationListener() { };
+
+    default void studentAdded(Student student) { }
+
+    default void studentUpdated(Student student) { }
+
+    default void courseAdded(Course course) { }
+
+    default void courseUpdated(Course course) { }
+
+    default void enrolled(Student student, Course course) { }
+
+    default void unenrolled(Student student, Course course) { }
+
+    default void graded(Student student, Course course, Grade grade) { }
+
+    default void instructorAdded(Instructor instructor) { }
+
+    /**
+     * The course's instructor changed; instructor is null when it was unassigned.
+     */
+    default void instructorAssigned(Course course, Instructor instructor) { }
+
+    /**
+     * A semester archive was written and mounted; unenrolling the enrollments it
+     * holds follows as separate changes.
+     */
+    default void semesterArchived(Path archiveFile) { }
+
+    /**
+     * Called by an {@link EventBus} after each run of changes delivered together,
+     * e.g. to flush buffered output once per batch.
+     */
+    default void endOfBatch() { }
+}
@@ -0,0 +1,118 @@
+package edu.ccrm.config;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Student;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Students and courses partitioned into one {@link Shard} per department, each
+ * with its own maps and lock, so departments never contend with each other and
+ * a new department or campus simply adds a shard.
+ *
+ * Students are routed by the department in their registration number and
+ * courses by their department field. Course codes carry no department, so a
+ * small directory maps each code to its shard. The services decide which shard
+ * an operation touches; queries across departments fan out over all shards in parallel.
+ */
+public class ShardedStore {
+
+    /**
+     * One department's data. The maps are safe for concurrent single-key access;
+     * the lock guards multi-step changes such as check-then-put or moving a course.
+     */
+    public static final class Shard {
+        public final String key;
+        public final Map<String, Student> students = new ConcurrentHashMap<>();
+        public final Map<String, Course> courses = new ConcurrentHashMap<>();
+        public final ReentrantLock lock = new ReentrantLock();
+
+        private Shard(String key) {
+            this.key = key;
+        }
+    }
+
+    private final Map<String, Shard> shards = new ConcurrentHashMap<>();
+    private final Map<String, String> courseDirectory = new ConcurrentHashMap<>();
+
+    /**
+     * Normalizes a department into a shard key; department lookups are case-insensitive.
+     */
+    public static String keyOf(String department) {
+        return department == null || department.isBlank() ? "UNKNOWN" : department.trim().toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * @return The department's shard, created on first use.
+     */
+    public Shard shard(String department) {
+        return shards.computeIfAbsent(keyOf(department), Shard::new);
+    }
+
+    /**
+     * @return The department's shard, or null if it holds no data yet.
+     */
+    public Shard existingShard(String department) {
+        return shards.get(keyOf(department));
+    }
+
+    public Collection<Shard> shards() {
+        return shards.values();
+    }
+
+    /**
+     * @return The shard currently holding the course, or null if the code is unknown.
+     */
+    public Shard shardOfCourse(String courseCode) {
+        String key = courseDirectory.get(courseCode);
+        return key == null ? null : shards.get(key);
+    }
+
+    /**
+     * Records which shard holds a course. Callers hold that shard's lock.
+     *
+     * @return The key of the shard that held the course before, or null.
+     */
+    public String routeCourse(String courseCode, Shard shard) {
+        return courseDirectory.put(courseCode, shard.key);
+    }
+
+    /**
+     * Routes the course to a shard if the directory still names the expected one
+     * (null meaning the code is new). Callers hold both shards' locks.
+     *
+     * @return false if another change routed the course in the meantime.
+     */
+    public boolean rerouteCourse(String courseCode, Shard expected, Shard shard) {
+        return expected == null
+                ? courseDirectory.putIfAbsent(courseCode, shard.key) == null
+                : courseDirectory.replace(courseCode, expected.key, shard.key);
+    }
+
+    /**
+     * Records that a new course lives in the given shard, unless the code is already taken.
+     *
+     * @return false if some shard already holds a course with that code.
+     */
+    public boolean claimCourse(String courseCode, Shard shard) {
+        return courseDirectory.putIfAbsent(courseCode, shard.key) == null;
+    }
+
+    /**
+     * All students, read from every shard in parallel.
+     */
+    public Stream<Student> allStudents() {
+        return shards.values().parallelStream().flatMap(shard -> shard.students.values().stream());
+    }
+
+    /**
+     * All courses, read from every shard in parallel.
+     */
+    public Stream<Course> allCourses() {
+        return shards.values().parallelStream().flatMap(shard -> shard.courses.values().stream());
+    }
+}
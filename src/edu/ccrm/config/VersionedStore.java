@@ -0,0 +1,162 @@
+package edu.ccrm.config;
+
+import edu.ccrm.domain.Student;
+import edu.ccrm.domain.StudentRecord;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Multi-version copy of every student's record, so long reads (exports,
+ * transcript batches, analytics) can work against a consistent point in time
+ * while writers keep mutating the live objects.
+ *
+ * Writers call {@link #publish(Student)} after each change; this appends an
+ * immutable {@link StudentRecord} tagged with a new global version number.
+ * {@link #openSnapshot()} captures the current version, and the snapshot sees
+ * for every student the newest record at or below that version. Old versions
+ * are dropped once no open snapshot can still see them: on the student's next
+ * publish, or when the oldest open snapshot closes.
+ */
+public class VersionedStore {
+
+    private static final class Version {
+        final long number;
+        final StudentRecord record;
+        volatile Version previous;
+
+        Version(long number, StudentRecord record, Version previous) {
+            this.number = number;
+            this.record = record;
+            this.previous = previous;
+        }
+    }
+
+    private final Map<String, Version> heads = new ConcurrentHashMap<>();
+    // Open snapshot version -> number of snapshots open at that version
+    private final TreeMap<Long, Integer> openSnapshots = new TreeMap<>();
+    // Students whose chain still holds versions older than the head, kept for open snapshots
+    private final Set<String> retained = new HashSet<>();
+    private final Object commitLock = new Object();
+    private volatile long clock;
+
+    /**
+     * Records the student's current state as a new version. Callers should hold
+     * the student's lock so the copy is consistent.
+     */
+    public void publish(Student student) {
+        StudentRecord record = StudentRecord.of(student);
+        synchronized (commitLock) {
+            long number = clock + 1;
+            Version head = new Version(number, record, heads.get(record.regNo()));
+            heads.put(record.regNo(), head);
+            prune(head, openSnapshots.isEmpty() ? number : openSnapshots.firstKey());
+            if (head.previous != null) retained.add(record.regNo());
+            clock = number; // publish only after the version is installed
+        }
+    }
+
+    /**
+     * @return The newest committed record of the student, without opening a snapshot.
+     */
+    public Optional<StudentRecord> latest(String regNo) {
+        Version head = heads.get(regNo);
+        return head == null ? Optional.empty() : Optional.of(head.record);
+    }
+
+    /**
+     * @return The version at which the student's newest record was committed, or 0 if none was.
+     */
+    public long versionOf(String regNo) {
+        Version head = heads.get(regNo);
+        return head == null ? 0 : head.number;
+    }
+
+    public Snapshot openSnapshot() {
+        synchronized (commitLock) {
+            long version = clock;
+            openSnapshots.merge(version, 1, Integer::sum);
+            return new Snapshot(version);
+        }
+    }
+
+    public long currentVersion() {
+        return clock;
+    }
+
+    // Keeps the newest version visible to the oldest open snapshot and drops everything older.
+    private static void prune(Version head, long oldestVisible) {
+        Version v = head;
+        while (v != null && v.number > oldestVisible) v = v.previous;
+        if (v != null) v.previous = null;
+    }
+
+    private void release(long version) {
+        synchronized (commitLock) {
+            Long oldest = openSnapshots.isEmpty() ? null : openSnapshots.firstKey();
+            openSnapshots.computeIfPresent(version, (k, count) -> count == 1 ? null : count - 1);
+            Long remaining = openSnapshots.isEmpty() ? null : openSnapshots.firstKey();
+            if (!Objects.equals(oldest, remaining)) pruneRetained(remaining == null ? clock : remaining);
+        }
+    }
+
+    // The oldest snapshot closed: trim every chain it was holding, including students not written since.
+    private void pruneRetained(long oldestVisible) {
+        for (Iterator<String> it = retained.iterator(); it.hasNext(); ) {
+            Version head = heads.get(it.next());
+            if (head != null) prune(head, oldestVisible);
+            if (head == null || head.previous == null) it.remove();
+        }
+    }
+
+    /**
+     * A read-only view of all students as of one version. Close it when done so
+     * old versions can be reclaimed.
+     */
+    public final class Snapshot implements AutoCloseable {
+        private final long version;
+        private boolean closed;
+
+        private Snapshot(long version) {
+            this.version = version;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        public Optional<StudentRecord> student(String regNo) {
+            return Optional.ofNullable(visible(heads.get(regNo)));
+        }
+
+        public List<StudentRecord> students() {
+            List<StudentRecord> result = new ArrayList<>();
+            for (Version head : heads.values()) {
+                StudentRecord record = visible(head);
+                if (record != null) result.add(record);
+            }
+            return result;
+        }
+
+        private StudentRecord visible(Version head) {
+            Version v = head;
+            while (v != null && v.number > version) v = v.previous;
+            return v == null ? null : v.record;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(version);
+            }
+        }
+    }
+}
@@ -1,12 +1,16 @@
 package edu.ccrm.domain;
 
+import java.util.List;
+
 public class Course {
     private final String code;
-    private final String title;
+    private String title;
     private final int credits;
     private Instructor instructor;
     private Semester semester;
     private String department; // Added for filtering functionality
+    private List<TimeSlot> timeSlots;
+    private WeeklySchedule schedule; // timeSlots as a bitset, rebuilt whenever they change
 
     private Course(Builder builder) {
         this.code = builder.code;
@@ -15,6 +19,7 @@ public class Course {
         this.instructor = builder.instructor;
         this.semester = builder.semester;
         this.department = builder.department;
+        setTimeSlots(builder.timeSlots);
     }
 
     @Override
@@ -48,12 +53,37 @@ public class Course {
     public String getDepartment() {
         return department;
     }
+
+    public List<TimeSlot> getTimeSlots() {
+        return timeSlots;
+    }
+
+    public WeeklySchedule getSchedule() {
+        return schedule;
+    }
     
     // --- Setters for mutable fields ---
     public void setInstructor(Instructor instructor){
         this.instructor = instructor;
     }
 
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public void setSemester(Semester semester) {
+        this.semester = semester;
+    }
+
+    public void setDepartment(String department) {
+        this.department = department;
+    }
+
+    public void setTimeSlots(List<TimeSlot> timeSlots) {
+        this.timeSlots = List.copyOf(timeSlots);
+        this.schedule = WeeklySchedule.of(this.timeSlots);
+    }
+
     // --- Static nested Builder class ---
     public static class Builder {
         private String code;
@@ -62,6 +92,7 @@ public class Course {
         private Instructor instructor;
         private Semester semester;
         private String department;
+        private List<TimeSlot> timeSlots = List.of();
 
         public Builder(String code, String title) {
             this.code = code;
@@ -88,6 +119,11 @@ public class Course {
             return this;
         }
 
+        public Builder timeSlots(List<TimeSlot> timeSlots) {
+            this.timeSlots = timeSlots;
+            return this;
+        }
+
         public Course build() {
             return new Course(this);
         }
@@ -1,7 +1,6 @@
 package edu.ccrm.domain;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 /**
  * Represents the enrollment of a Student in a Course.
@@ -10,7 +9,7 @@ import java.time.format.DateTimeFormatter;
 public class Enrollment {
     private final Student student;
     private final Course course;
-    private Grade grade; // Can be null until graded
+    private volatile Grade grade; // Can be null until graded
     private final LocalDateTime enrollmentDate;
 
     public Enrollment(Student student, Course course) {
@@ -55,14 +54,6 @@ public class Enrollment {
      */
     @Override
     public String toString() {
-        String gradeString = (grade != null) ? grade.toString() : "Not Graded";
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        
-        return String.format("Course: %-25s | Grade: %-12s | Credits: %d | Enrolled on: %s",
-                course.getTitle() + " (" + course.getCode() + ")",
-                gradeString,
-                course.getCredits(),
-                enrollmentDate.format(formatter)
-        );
+        return EnrollmentRecord.of(this).toString();
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package edu.ccrm.domain;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * An immutable, point-in-time copy of an {@link Enrollment}.
+ * Used by snapshot reads so transcripts and exports never observe a grade mid-update.
+ */
+public record EnrollmentRecord(String courseCode, String courseTitle, int credits, Grade grade,
+                               LocalDateTime enrollmentDate) {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    public static EnrollmentRecord of(Enrollment enrollment) {
+        Course course = enrollment.getCourse();
+        return new EnrollmentRecord(course.getCode(), course.getTitle(), course.getCredits(),
+                enrollment.getGrade(), enrollment.getEnrollmentDate());
+    }
+
+    @Override
+    public String toString() {
+        String gradeString = (grade != null) ? grade.toString() : "Not Graded";
+        return String.format("Course: %-25s | Grade: %-12s | Credits: %d | Enrolled on: %s",
+                courseTitle + " (" + courseCode + ")",
+                gradeString,
+                credits,
+                enrollmentDate.format(DATE_FORMATTER)
+        );
+    }
+}
@@ -1,8 +1,9 @@
 package edu.ccrm.domain;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Instructor extends Person {
     private String id; // id field moved here from Person
@@ -16,7 +17,7 @@ public class Instructor extends Person {
         this.id = id; // Initialize the new id field
         this.employeeId = employeeId;
         this.department = department;
-        this.assignedCourses = new ArrayList<>();
+        this.assignedCourses = new CopyOnWriteArrayList<>();
     }
     
     @Override
@@ -25,7 +26,11 @@ public class Instructor extends Person {
     }
 
     public void assignCourse(Course course) {
-        this.assignedCourses.add(course);
+        if (!this.assignedCourses.contains(course)) this.assignedCourses.add(course);
+    }
+
+    public void unassignCourse(Course course) {
+        this.assignedCourses.remove(course);
     }
 
     // --- Standard Getters and Setters (New id getter/setter added) ---
@@ -35,7 +40,8 @@ public class Instructor extends Person {
     public void setEmployeeId(String employeeId) { this.employeeId = employeeId; }
     public String getDepartment() { return department; }
     public void setDepartment(String department) { this.department = department; }
-    public List<Course> getAssignedCourses() { return List.copyOf(assignedCourses); }
+    // Read-only view; the list is copy-on-write, so callers can iterate it safely without a copy.
+    public List<Course> getAssignedCourses() { return Collections.unmodifiableList(assignedCourses); }
     
     @Override
     public String toString() {
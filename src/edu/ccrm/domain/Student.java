@@ -1,20 +1,25 @@
 package edu.ccrm.domain;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 public class Student extends Person {
     private String regNo;
     private boolean isActive;
     private List<Enrollment> enrolledCourses;
+    // Set while the student's saved enrollments have not been read yet (lazy loading)
+    private volatile Consumer<Student> enrollmentLoader;
+    private boolean loadingEnrollments; // guarded by this
 
     // Constructor updated: id parameter removed
     public Student(String fullName, String email, LocalDate dateOfBirth, String regNo) {
         super(fullName, email, dateOfBirth); // super() call updated
         this.regNo = regNo;
         this.isActive = true;
-        this.enrolledCourses = new ArrayList<>();
+        // Copy-on-write so readers never hit a ConcurrentModificationException mid-enrollment
+        this.enrolledCourses = new CopyOnWriteArrayList<>();
     }
 
     @Override
@@ -24,15 +29,52 @@ public class Student extends Person {
 
     // --- Methods to manage enrollments ---
     public void enrollCourse(Enrollment e) {
+        ensureEnrollmentsLoaded();
         this.enrolledCourses.add(e);
     }
 
     public void unenrollCourse(Enrollment e) {
+        ensureEnrollmentsLoaded();
         this.enrolledCourses.remove(e);
     }
 
+    /**
+     * Defers reading this student's saved enrollments until they are first needed.
+     * The loader runs at most once, on whichever thread touches the enrollments first.
+     */
+    public void setEnrollmentLoader(Consumer<Student> loader) {
+        this.enrollmentLoader = loader;
+    }
+
+    /**
+     * Runs the pending enrollment loader, if any. Other threads wait until it has finished.
+     */
+    public void ensureEnrollmentsLoaded() {
+        if (enrollmentLoader == null) return;
+        synchronized (this) {
+            Consumer<Student> loader = enrollmentLoader;
+            // Already loaded by another thread, or called back from the loader itself.
+            if (loader == null || loadingEnrollments) return;
+            loadingEnrollments = true;
+            try {
+                loader.accept(this);
+            } finally {
+                loadingEnrollments = false;
+                enrollmentLoader = null;
+            }
+        }
+    }
+
+    /**
+     * @return True while the saved enrollments have not been read yet.
+     */
+    public boolean hasPendingEnrollments() {
+        return enrollmentLoader != null;
+    }
+
     // --- Getters and Setters ---
     public List<Enrollment> getEnrolledCourses() {
+        ensureEnrollmentsLoaded();
         return List.copyOf(enrolledCourses);
     }
 
@@ -44,6 +86,27 @@ public class Student extends Person {
         this.regNo = regNo;
     }
 
+    /**
+     * The programme/department code embedded in the registration number,
+     * e.g. "BCE" for 24BCE10001.
+     */
+    public String getDepartment() {
+        return departmentOf(regNo);
+    }
+
+    /**
+     * The department code of any registration number, so a student can be
+     * located from the number alone.
+     */
+    public static String departmentOf(String regNo) {
+        if (regNo == null) return "UNKNOWN";
+        int start = 0;
+        while (start < regNo.length() && Character.isDigit(regNo.charAt(start))) start++;
+        int end = start;
+        while (end < regNo.length() && Character.isLetter(regNo.charAt(end))) end++;
+        return (end > start) ? regNo.substring(start, end).toUpperCase() : "UNKNOWN";
+    }
+
     public boolean isActive() {
         return isActive;
     }
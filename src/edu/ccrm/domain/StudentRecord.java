@@ -0,0 +1,43 @@
+package edu.ccrm.domain;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * An immutable, point-in-time copy of a {@link Student} and their enrollments.
+ */
+public record StudentRecord(String regNo, String fullName, String email, LocalDate dateOfBirth,
+                            boolean active, List<EnrollmentRecord> enrollments) {
+
+    public StudentRecord {
+        enrollments = List.copyOf(enrollments);
+    }
+
+    /**
+     * Copies the student's current state. Callers that need a consistent copy
+     * should hold the student's lock while calling this.
+     */
+    public static StudentRecord of(Student student) {
+        return new StudentRecord(student.getRegNo(), student.getFullName(), student.getEmail(),
+                student.getDateOfBirth(), student.isActive(),
+                student.getEnrolledCourses().stream().map(EnrollmentRecord::of).toList());
+    }
+
+    public String getProfileDetails() {
+        return String.format("Student: %s (Reg No: %s)", fullName, regNo);
+    }
+
+    /**
+     * Credit-weighted GPA over the graded enrollments in this record.
+     */
+    public double gpa() {
+        double totalPoints = 0;
+        int totalCredits = 0;
+        for (EnrollmentRecord e : enrollments) {
+            if (e.grade() == null) continue;
+            totalPoints += e.grade().getGradePoint() * e.credits();
+            totalCredits += e.credits();
+        }
+        return (totalCredits == 0) ? 0.0 : totalPoints / totalCredits;
+    }
+}
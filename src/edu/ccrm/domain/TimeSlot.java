@@ -0,0 +1,68 @@
+package edu.ccrm.domain;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * One weekly meeting of a course, e.g. {@code MON 09:00-09:50}.
+ * The end time is exclusive, so back-to-back slots do not overlap.
+ */
+public record TimeSlot(DayOfWeek day, LocalTime start, LocalTime end) {
+
+    public TimeSlot {
+        if (!end.isAfter(start)) {
+            throw new IllegalArgumentException("Time slot must end after it starts: " + start + "-" + end);
+        }
+    }
+
+    /**
+     * Parses the form written by {@link #toString()}, e.g. "MON 09:00-09:50".
+     *
+     * @throws IllegalArgumentException if the text is not a valid slot.
+     */
+    public static TimeSlot parse(String text) {
+        String[] parts = text.trim().split("[ -]");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid time slot (expected e.g. MON 09:00-09:50): " + text);
+        }
+        try {
+            return new TimeSlot(parseDay(parts[0]), LocalTime.parse(parts[1]), LocalTime.parse(parts[2]));
+        } catch (java.time.format.DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid time in slot: " + text);
+        }
+    }
+
+    /**
+     * Parses a ';'-separated list such as "MON 09:00-09:50;WED 09:00-09:50".
+     * A blank string is an empty list.
+     */
+    public static List<TimeSlot> parseAll(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        return Arrays.stream(text.split(";"))
+                .filter(part -> !part.isBlank())
+                .map(TimeSlot::parse)
+                .collect(Collectors.toList());
+    }
+
+    public static String formatAll(List<TimeSlot> slots) {
+        return slots.stream().map(TimeSlot::toString).collect(Collectors.joining(";"));
+    }
+
+    private static DayOfWeek parseDay(String day) {
+        String prefix = day.toUpperCase(Locale.ROOT);
+        for (DayOfWeek d : DayOfWeek.values()) {
+            if (prefix.length() >= 3 && d.name().startsWith(prefix)) return d;
+        }
+        throw new IllegalArgumentException("Invalid day in time slot: " + day);
+    }
+
+    @Override
+    public String toString() {
+        return day.getDisplayName(TextStyle.SHORT, Locale.ENGLISH).toUpperCase(Locale.ROOT) + " " + start + "-" + end;
+    }
+}
@@ -0,0 +1,6 @@
+package edu.ccrm.domain;
+
+/**
+ * Two courses a student is enrolled in that meet at the same time in the same semester.
+ */
+public record TimetableClash(String regNo, String courseCode, String otherCourseCode, Semester semester) { }
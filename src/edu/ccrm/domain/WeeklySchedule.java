@@ -0,0 +1,52 @@
+package edu.ccrm.domain;
+
+import java.util.Collection;
+
+/**
+ * The weekly meeting times of a course as a bitset of five-minute units
+ * (7 days x 288 units = 2016 bits), so checking two courses for a clash is a
+ * fixed 32-word AND regardless of how many slots they have. Times that are not
+ * on a five-minute boundary are widened to the enclosing units.
+ */
+public final class WeeklySchedule {
+
+    private static final int UNIT_MINUTES = 5;
+    private static final int UNITS_PER_DAY = 24 * 60 / UNIT_MINUTES;
+    private static final int WORDS = (7 * UNITS_PER_DAY + 63) / 64;
+
+    public static final WeeklySchedule EMPTY = new WeeklySchedule(new long[WORDS]);
+
+    private final long[] bits;
+
+    private WeeklySchedule(long[] bits) {
+        this.bits = bits;
+    }
+
+    public static WeeklySchedule of(Collection<TimeSlot> slots) {
+        if (slots.isEmpty()) return EMPTY;
+        long[] bits = new long[WORDS];
+        for (TimeSlot slot : slots) {
+            int dayOffset = (slot.day().getValue() - 1) * UNITS_PER_DAY;
+            int from = dayOffset + slot.start().toSecondOfDay() / 60 / UNIT_MINUTES;
+            int to = dayOffset + (slot.end().toSecondOfDay() / 60 + UNIT_MINUTES - 1) / UNIT_MINUTES;
+            for (int unit = from; unit < to; unit++) {
+                bits[unit >>> 6] |= 1L << unit;
+            }
+        }
+        return new WeeklySchedule(bits);
+    }
+
+    public boolean overlaps(WeeklySchedule other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((bits[i] & other.bits[i]) != 0) return true;
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        for (long word : bits) {
+            if (word != 0) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,8 @@
+package edu.ccrm.exception;
+
+// Checked exception: enrolling would put a student in two places at once.
+public class TimetableClashException extends Exception {
+    public TimetableClashException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,135 @@
+package edu.ccrm.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+
+/**
+ * Keeps every graded student ordered by GPA (highest first, ties broken by
+ * registration number) so that rank, percentile and merit-list queries do not
+ * need to recalculate and sort every GPA on each request.
+ * A separate tree is kept per department for department merit lists.
+ */
+public class GpaLeaderboard {
+
+    /**
+     * One student's position on the leaderboard.
+     */
+    public record RankEntry(String regNo, String department, double gpa) { }
+
+    private static final Comparator<RankEntry> ORDER = Comparator
+            .comparingDouble(RankEntry::gpa).reversed()
+            .thenComparing(RankEntry::regNo);
+
+    private final OrderStatisticTree<RankEntry> overall = new OrderStatisticTree<>(ORDER);
+    private final Map<String, OrderStatisticTree<RankEntry>> byDepartment = new HashMap<>();
+    private final Map<String, RankEntry> entries = new HashMap<>();
+
+    /**
+     * Inserts the student or moves them to the position matching their new GPA.
+     */
+    public synchronized void update(String regNo, String department, double gpa) {
+        RankEntry previous = entries.get(regNo);
+        if (previous != null) {
+            if (previous.gpa() == gpa && previous.department().equals(department)) return;
+            detach(previous);
+        }
+        RankEntry entry = new RankEntry(regNo, department, gpa);
+        entries.put(regNo, entry);
+        overall.insert(entry);
+        byDepartment.computeIfAbsent(department, d -> new OrderStatisticTree<>(ORDER)).insert(entry);
+    }
+
+    public synchronized void remove(String regNo) {
+        RankEntry previous = entries.remove(regNo);
+        if (previous != null) detach(previous);
+    }
+
+    /**
+     * @return The 1-based class rank, or empty if the student has no graded courses.
+     */
+    public synchronized OptionalInt rankOf(String regNo) {
+        RankEntry entry = entries.get(regNo);
+        return entry == null ? OptionalInt.empty() : OptionalInt.of(overall.rank(entry) + 1);
+    }
+
+    /**
+     * @return The 1-based rank within the student's own department.
+     */
+    public synchronized OptionalInt departmentRankOf(String regNo) {
+        RankEntry entry = entries.get(regNo);
+        return entry == null
+                ? OptionalInt.empty()
+                : OptionalInt.of(byDepartment.get(entry.department()).rank(entry) + 1);
+    }
+
+    /**
+     * @return The percentage of ranked students placed at or below this student.
+     */
+    public synchronized OptionalDouble percentileOf(String regNo) {
+        RankEntry entry = entries.get(regNo);
+        if (entry == null) return OptionalDouble.empty();
+        int total = overall.size();
+        int rank = overall.rank(entry) + 1;
+        return OptionalDouble.of((total - rank + 1) * 100.0 / total);
+    }
+
+    public synchronized List<RankEntry> top(int n) {
+        return overall.first(n);
+    }
+
+    public synchronized List<RankEntry> top(String department, int n) {
+        OrderStatisticTree<RankEntry> tree = byDepartment.get(department);
+        return tree == null ? List.of() : tree.first(n);
+    }
+
+    public synchronized OptionalDouble gpaOf(String regNo) {
+        RankEntry entry = entries.get(regNo);
+        return entry == null ? OptionalDouble.empty() : OptionalDouble.of(entry.gpa());
+    }
+
+    /**
+     * @return How many ranked students have a GPA in [min, max], in O(log n).
+     */
+    public synchronized int countBetween(double min, double max) {
+        return Math.max(0, upperRank(min) - lowerRank(max));
+    }
+
+    /**
+     * @return Registration numbers of ranked students with a GPA in [min, max], highest first.
+     */
+    public synchronized List<String> between(double min, double max) {
+        int from = lowerRank(max);
+        int to = upperRank(min);
+        List<String> result = new ArrayList<>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) result.add(overall.select(i).regNo());
+        return result;
+    }
+
+    // Position of the first entry with gpa <= max; "" sorts before every regNo.
+    private int lowerRank(double max) {
+        return overall.rank(new RankEntry("", "", max));
+    }
+
+    // Position just past the last entry with gpa >= min.
+    private int upperRank(double min) {
+        return overall.rank(new RankEntry("\uffff", "", min));
+    }
+
+    public synchronized int size() {
+        return overall.size();
+    }
+
+    private void detach(RankEntry entry) {
+        overall.remove(entry);
+        OrderStatisticTree<RankEntry> tree = byDepartment.get(entry.department());
+        if (tree != null) {
+            tree.remove(entry);
+            if (tree.isEmpty()) byDepartment.remove(entry.department());
+        }
+    }
+}
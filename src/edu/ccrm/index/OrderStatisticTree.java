@@ -0,0 +1,171 @@
+package edu.ccrm.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A size-augmented treap that keeps its elements sorted and can answer
+ * "how many elements come before x" and "which element is at position i"
+ * in O(log n) expected time.
+ *
+ * @param <T> The element type. Elements must be unique under the comparator.
+ */
+public class OrderStatisticTree<T> {
+
+    private static final class Node<T> {
+        final T value;
+        final int priority;
+        int size = 1;
+        Node<T> left;
+        Node<T> right;
+
+        Node(T value) {
+            this.value = value;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private final Comparator<? super T> comparator;
+    private Node<T> root;
+
+    public OrderStatisticTree(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public void insert(T value) {
+        root = insert(root, value);
+    }
+
+    public void remove(T value) {
+        root = remove(root, value);
+    }
+
+    /**
+     * Returns the number of elements strictly smaller than the given value,
+     * i.e. its zero-based position if it is present in the tree.
+     */
+    public int rank(T value) {
+        int rank = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(value, node.value);
+            if (cmp <= 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the element at the given zero-based position.
+     */
+    public T select(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        }
+        Node<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.value;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Returns the first {@code n} elements in order. Runs in O(log n + k).
+     */
+    public List<T> first(int n) {
+        List<T> result = new ArrayList<>(Math.max(0, Math.min(n, size())));
+        collect(root, n, result);
+        return result;
+    }
+
+    private void collect(Node<T> node, int limit, List<T> out) {
+        if (node == null || out.size() >= limit) return;
+        collect(node.left, limit, out);
+        if (out.size() < limit) out.add(node.value);
+        collect(node.right, limit, out);
+    }
+
+    private Node<T> insert(Node<T> node, T value) {
+        if (node == null) return new Node<>(value);
+        int cmp = comparator.compare(value, node.value);
+        if (cmp == 0) return node;
+        if (cmp < 0) {
+            node.left = insert(node.left, value);
+            if (node.left.priority > node.priority) node = rotateRight(node);
+        } else {
+            node.right = insert(node.right, value);
+            if (node.right.priority > node.priority) node = rotateLeft(node);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<T> remove(Node<T> node, T value) {
+        if (node == null) return null;
+        int cmp = comparator.compare(value, node.value);
+        if (cmp < 0) {
+            node.left = remove(node.left, value);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, value);
+        } else {
+            if (node.left == null) return node.right;
+            if (node.right == null) return node.left;
+            if (node.left.priority > node.right.priority) {
+                node = rotateRight(node);
+                node.right = remove(node.right, value);
+            } else {
+                node = rotateLeft(node);
+                node.left = remove(node.left, value);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(Node<T> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+}
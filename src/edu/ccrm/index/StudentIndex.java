@@ -0,0 +1,110 @@
+package edu.ccrm.index;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Secondary indexes over students for the query planner: date of birth
+ * (ordered, so a range can be counted and listed without a scan), the
+ * active/inactive partition and the students enrolled in each course.
+ * Every count is O(1) or O(log n), so the planner can compare candidate
+ * sets before fetching any of them.
+ */
+public class StudentIndex {
+
+    private record Born(LocalDate dateOfBirth, String regNo) { }
+
+    private static final Comparator<Born> BY_BIRTH = Comparator
+            .comparing(Born::dateOfBirth)
+            .thenComparing(Born::regNo);
+
+    private final OrderStatisticTree<Born> byBirth = new OrderStatisticTree<>(BY_BIRTH);
+    private final Map<String, Born> births = new HashMap<>();
+    private final Set<String> active = new HashSet<>();
+    private final Set<String> inactive = new HashSet<>();
+    private final Map<String, Set<String>> studentsByCourse = new HashMap<>();
+    private final Map<String, Set<String>> coursesByStudent = new HashMap<>();
+
+    /**
+     * Records a student's current date of birth and active flag.
+     */
+    public synchronized void update(String regNo, LocalDate dateOfBirth, boolean isActive) {
+        Born previous = births.get(regNo);
+        if (previous == null || !previous.dateOfBirth().equals(dateOfBirth)) {
+            if (previous != null) byBirth.remove(previous);
+            Born born = new Born(dateOfBirth, regNo);
+            births.put(regNo, born);
+            byBirth.insert(born);
+        }
+        (isActive ? active : inactive).add(regNo);
+        (isActive ? inactive : active).remove(regNo);
+    }
+
+    /**
+     * Forgets the student's enrollments, e.g. when the student record is replaced.
+     */
+    public synchronized void clearEnrollments(String regNo) {
+        Set<String> courses = coursesByStudent.remove(regNo);
+        if (courses == null) return;
+        for (String code : courses) unenrolled(regNo, code);
+    }
+
+    public synchronized void enrolled(String regNo, String courseCode) {
+        studentsByCourse.computeIfAbsent(courseCode, c -> new HashSet<>()).add(regNo);
+        coursesByStudent.computeIfAbsent(regNo, r -> new HashSet<>()).add(courseCode);
+    }
+
+    public synchronized void unenrolled(String regNo, String courseCode) {
+        Set<String> students = studentsByCourse.get(courseCode);
+        if (students != null && students.remove(regNo) && students.isEmpty()) studentsByCourse.remove(courseCode);
+        Set<String> courses = coursesByStudent.get(regNo);
+        if (courses != null && courses.remove(courseCode) && courses.isEmpty()) coursesByStudent.remove(regNo);
+    }
+
+    public synchronized int countBornBetween(LocalDate from, LocalDate to) {
+        return Math.max(0, birthRankAfter(to) - birthRankFrom(from));
+    }
+
+    /**
+     * @return Students born in [from, to], oldest first.
+     */
+    public synchronized List<String> bornBetween(LocalDate from, LocalDate to) {
+        int start = birthRankFrom(from);
+        int end = birthRankAfter(to);
+        List<String> result = new ArrayList<>(Math.max(0, end - start));
+        for (int i = start; i < end; i++) result.add(byBirth.select(i).regNo());
+        return result;
+    }
+
+    private int birthRankFrom(LocalDate from) {
+        return from == null ? 0 : byBirth.rank(new Born(from, ""));
+    }
+
+    private int birthRankAfter(LocalDate to) {
+        return to == null ? byBirth.size() : byBirth.rank(new Born(to.plusDays(1), ""));
+    }
+
+    public synchronized int countWithActive(boolean isActive) {
+        return (isActive ? active : inactive).size();
+    }
+
+    public synchronized List<String> withActive(boolean isActive) {
+        return new ArrayList<>(isActive ? active : inactive);
+    }
+
+    public synchronized int countEnrolledIn(String courseCode) {
+        Set<String> students = studentsByCourse.get(courseCode);
+        return students == null ? 0 : students.size();
+    }
+
+    public synchronized List<String> enrolledIn(String courseCode) {
+        Set<String> students = studentsByCourse.get(courseCode);
+        return students == null ? List.of() : new ArrayList<>(students);
+    }
+}
@@ -0,0 +1,108 @@
+package edu.ccrm.index;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Instructor;
+import edu.ccrm.domain.Semester;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps per-instructor credit totals by semester and the set of unassigned
+ * courses per department up to date as courses are added, edited and assigned,
+ * so workload queries read a precomputed answer instead of scanning all courses.
+ *
+ * The index remembers what it last recorded for each course, which lets a
+ * course be re-indexed after any change without knowing its previous state.
+ */
+public class TeachingLoadIndex {
+
+    private record Entry(String instructorId, String department, Semester semester, int credits) { }
+
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<String, Map<Semester, Integer>> creditsByInstructor = new HashMap<>();
+    private final Map<String, Map<String, Course>> unassignedByDepartment = new HashMap<>();
+
+    /**
+     * Records the course's current instructor, department, semester and credits,
+     * replacing whatever was recorded for it before.
+     */
+    public synchronized void index(Course course) {
+        Instructor instructor = course.getInstructor();
+        Entry entry = new Entry(instructor == null ? null : instructor.getId(),
+                departmentKey(course.getDepartment()), course.getSemester(), course.getCredits());
+        Entry previous = entries.put(course.getCode(), entry);
+        if (previous != null) detach(course.getCode(), previous);
+
+        if (entry.instructorId() != null) {
+            creditsByInstructor.computeIfAbsent(entry.instructorId(), id -> new EnumMap<>(Semester.class))
+                    .merge(entry.semester(), entry.credits(), Integer::sum);
+        } else {
+            unassignedByDepartment.computeIfAbsent(entry.department(), d -> new TreeMap<>())
+                    .put(course.getCode(), course);
+        }
+    }
+
+    public synchronized void remove(String courseCode) {
+        Entry previous = entries.remove(courseCode);
+        if (previous != null) detach(courseCode, previous);
+    }
+
+    private void detach(String courseCode, Entry entry) {
+        if (entry.instructorId() != null) {
+            Map<Semester, Integer> load = creditsByInstructor.get(entry.instructorId());
+            int remaining = load.merge(entry.semester(), -entry.credits(), Integer::sum);
+            if (remaining == 0) load.remove(entry.semester());
+            if (load.isEmpty()) creditsByInstructor.remove(entry.instructorId());
+        } else {
+            Map<String, Course> unassigned = unassignedByDepartment.get(entry.department());
+            unassigned.remove(courseCode);
+            if (unassigned.isEmpty()) unassignedByDepartment.remove(entry.department());
+        }
+    }
+
+    /**
+     * @return Credits taught by the instructor in the semester (0 if none).
+     */
+    public synchronized int creditsOf(String instructorId, Semester semester) {
+        Map<Semester, Integer> load = creditsByInstructor.get(instructorId);
+        return load == null ? 0 : load.getOrDefault(semester, 0);
+    }
+
+    /**
+     * @return Credits taught by the instructor in each semester they teach.
+     */
+    public synchronized Map<Semester, Integer> loadOf(String instructorId) {
+        Map<Semester, Integer> load = creditsByInstructor.get(instructorId);
+        return load == null ? Map.of() : new EnumMap<>(load);
+    }
+
+    /**
+     * @return Credits per instructor id for one semester; instructors with no load are absent.
+     */
+    public synchronized Map<String, Integer> loadsIn(Semester semester) {
+        Map<String, Integer> result = new HashMap<>();
+        creditsByInstructor.forEach((id, load) -> {
+            Integer credits = load.get(semester);
+            if (credits != null) result.put(id, credits);
+        });
+        return result;
+    }
+
+    /**
+     * @return The department's courses without an instructor, ordered by code.
+     */
+    public synchronized List<Course> unassignedIn(String department) {
+        Map<String, Course> unassigned = unassignedByDepartment.get(departmentKey(department));
+        return unassigned == null ? List.of() : new ArrayList<>(unassigned.values());
+    }
+
+    // Department lookups elsewhere are case-insensitive, so the index is too.
+    private static String departmentKey(String department) {
+        return department == null ? "" : department.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,52 @@
+package edu.ccrm.index;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the most recently requested rendered transcripts so that repeated
+ * requests for an unchanged student skip rebuilding and re-rendering the record.
+ *
+ * Each entry is stamped with the student's committed version (see
+ * {@link edu.ccrm.config.VersionedStore#versionOf}), which changes with every
+ * enrollment, grade or profile change of that student and of nobody else. A
+ * lookup with a different version re-renders and replaces the entry, so a
+ * change invalidates exactly one student's transcript. Once the cache holds
+ * {@code capacity} entries the least recently used one is evicted.
+ */
+public class TranscriptCache<T> {
+
+    private record Entry<T>(long version, T value) { }
+
+    private final Map<String, Entry<T>> entries;
+
+    public TranscriptCache(int capacity) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<T>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the transcript rendered at this version, rendering and caching it
+     * if needed. Rendering happens outside the cache's lock, so a slow render
+     * never holds up other students' lookups. Version 0 (never committed) is not cached.
+     */
+    public T get(String regNo, long version, Supplier<T> render) {
+        if (version == 0) return render.get();
+        synchronized (this) {
+            Entry<T> entry = entries.get(regNo);
+            if (entry != null && entry.version() == version) return entry.value();
+        }
+        T value = render.get();
+        synchronized (this) {
+            Entry<T> current = entries.get(regNo);
+            // Two requests may render concurrently; never let an older version replace a newer one.
+            if (current == null || current.version() < version) entries.put(regNo, new Entry<>(version, value));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,176 @@
+package edu.ccrm.io;
+
+import edu.ccrm.config.DataStore;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.EnrollmentRecord;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.domain.StudentRecord;
+import edu.ccrm.service.EnrollmentService;
+import edu.ccrm.service.StudentService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * The set of mounted {@link SemesterArchive}s. Services consult it so that
+ * lookups and transcripts transparently include archived semesters.
+ */
+public class ArchiveCatalog {
+
+    public static final Path DEFAULT_ARCHIVE_DIR = Paths.get("data", "archive");
+
+    private final List<SemesterArchive> archives = new CopyOnWriteArrayList<>();
+
+    /**
+     * Mounts every archive file found in the directory.
+     */
+    public void mountAll(Path directory) {
+        if (!Files.isDirectory(directory)) return;
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(p -> p.getFileName().toString().endsWith(SemesterArchive.FILE_EXTENSION))
+                 .sorted()
+                 .forEach(this::mount);
+        } catch (IOException e) {
+            System.err.println("Failed to list archives: " + e.getMessage());
+        }
+    }
+
+    public void mount(Path file) {
+        boolean alreadyMounted = archives.stream().anyMatch(a -> a.getFile().toAbsolutePath().equals(file.toAbsolutePath()));
+        if (alreadyMounted) return;
+        try {
+            archives.add(SemesterArchive.open(file));
+        } catch (IOException e) {
+            System.err.println("Could not mount archive " + file + ": " + e.getMessage());
+        }
+    }
+
+    public boolean isEmpty() {
+        return archives.isEmpty();
+    }
+
+    public List<String> getLabels() {
+        return archives.stream().map(SemesterArchive::getLabel).toList();
+    }
+
+    /**
+     * @return The student's profile from the most recently mounted archive that holds them.
+     */
+    public Optional<StudentRecord> findStudent(String regNo) {
+        for (int i = archives.size() - 1; i >= 0; i--) {
+            Optional<StudentRecord> record = archives.get(i).find(regNo);
+            if (record.isPresent()) return record;
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return All archived enrollments of the student, oldest archive first.
+     */
+    public List<EnrollmentRecord> findEnrollments(String regNo) {
+        if (archives.isEmpty()) return List.of();
+        List<EnrollmentRecord> result = new ArrayList<>();
+        for (SemesterArchive archive : archives) {
+            archive.find(regNo).ifPresent(r -> result.addAll(r.enrollments()));
+        }
+        return result;
+    }
+
+    /**
+     * @return Registration numbers of everyone with at least one graded archived enrollment.
+     */
+    public Set<String> gradedStudents() {
+        Set<String> regNos = new HashSet<>();
+        for (SemesterArchive archive : archives) {
+            for (StudentRecord record : archive.readAll()) {
+                if (record.enrollments().stream().anyMatch(e -> e.grade() != null)) regNos.add(record.regNo());
+            }
+        }
+        return regNos;
+    }
+
+    /**
+     * The enrollments, as "regNo,courseCode" keys, held by archives written after
+     * the given data file was last saved. Archiving saves the live files straight
+     * after writing the archive, so this is normally empty; if the process stopped
+     * in between, the file still lists the archived enrollments, and loading them
+     * again would count them twice.
+     */
+    public Set<String> archivedAfter(Path dataFile) {
+        if (archives.isEmpty() || !Files.exists(dataFile)) return Set.of();
+        Set<String> keys = new HashSet<>();
+        try {
+            FileTime saved = Files.getLastModifiedTime(dataFile);
+            for (SemesterArchive archive : archives) {
+                if (Files.getLastModifiedTime(archive.getFile()).compareTo(saved) <= 0) continue;
+                for (StudentRecord record : archive.readAll()) {
+                    record.enrollments().forEach(e -> keys.add(record.regNo() + "," + e.courseCode()));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not compare archives with " + dataFile + ": " + e.getMessage());
+        }
+        return keys;
+    }
+
+    /**
+     * Moves every enrollment in courses of the given semester into a new archive
+     * under {@code directory}, mounts it, and removes those enrollments from the live store.
+     *
+     * @return The number of enrollments archived.
+     */
+    public int archiveSemester(Semester semester, String label, Path directory,
+                               StudentService studentService, EnrollmentService enrollmentService) throws IOException {
+        List<StudentRecord> records = new ArrayList<>();
+        List<Student> affected = new ArrayList<>();
+        for (Student student : studentService.getAllStudents()) {
+            List<EnrollmentRecord> archived = student.getEnrolledCourses().stream()
+                    .filter(e -> e.getCourse().getSemester() == semester)
+                    .map(EnrollmentRecord::of)
+                    .toList();
+            if (archived.isEmpty()) continue;
+            records.add(new StudentRecord(student.getRegNo(), student.getFullName(), student.getEmail(),
+                    student.getDateOfBirth(), student.isActive(), archived));
+            affected.add(student);
+        }
+        if (records.isEmpty()) return 0;
+
+        Path file = directory.resolve(label + SemesterArchive.FILE_EXTENSION);
+        if (Files.exists(file)) throw new IOException("An archive named '" + label + "' already exists.");
+        SemesterArchive.write(file, label, records);
+        mount(file);
+        DataStore.getInstance().mutationListener.semesterArchived(file); // so replicas mount it too
+
+        int count = 0;
+        for (Student student : affected) {
+            for (Enrollment enrollment : student.getEnrolledCourses()) {
+                if (enrollment.getCourse().getSemester() == semester) {
+                    enrollmentService.unenrollStudent(student, enrollment.getCourse());
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    public void closeAll() {
+        for (SemesterArchive archive : archives) {
+            try {
+                archive.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close archive " + archive.getFile());
+            }
+        }
+        archives.clear();
+    }
+}
@@ -0,0 +1,172 @@
+package edu.ccrm.io;
+
+import edu.ccrm.config.MutationListener;
+import edu.ccrm.config.VersionedStore;
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Instructor;
+import edu.ccrm.domain.Student;
+import edu.ccrm.service.CourseService;
+import edu.ccrm.service.InstructorService;
+import edu.ccrm.service.StudentService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Saves changes in the background so a long session never depends on a clean exit.
+ *
+ * As an event-bus consumer it notes which data files the committed changes
+ * affect (students.csv and enrollments.csv, courses.csv, instructors.csv), and a
+ * scheduled daemon thread rewrites only those files at a fixed interval. An
+ * optional second schedule takes a compressed backup after saving. Closing
+ * stops the schedules and writes whatever is still unsaved, which at exit is
+ * usually nothing.
+ */
+public class AutoSaver implements MutationListener, AutoCloseable {
+
+    private final ImportExportService ioService;
+    private final BackupService backupService;
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final InstructorService instructorService;
+
+    private final AtomicBoolean studentsDirty = new AtomicBoolean();
+    private final AtomicBoolean coursesDirty = new AtomicBoolean();
+    private final AtomicBoolean instructorsDirty = new AtomicBoolean();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "auto-save");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public AutoSaver(ImportExportService ioService, BackupService backupService, StudentService studentService,
+                     CourseService courseService, InstructorService instructorService) {
+        this.ioService = ioService;
+        this.backupService = backupService;
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.instructorService = instructorService;
+    }
+
+    /**
+     * @param saveSeconds   Seconds between saves of changed files; 0 saves only on close.
+     * @param backupMinutes Minutes between compressed backups; 0 for none.
+     */
+    public void start(long saveSeconds, long backupMinutes) {
+        if (saveSeconds > 0) {
+            scheduler.scheduleWithFixedDelay(this::saveQuietly, saveSeconds, saveSeconds, TimeUnit.SECONDS);
+        }
+        if (backupMinutes > 0) {
+            scheduler.scheduleWithFixedDelay(this::backup, backupMinutes, backupMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Writes every data file changed since it was last saved.
+     *
+     * @return How many of the three file groups were written (0 if nothing had changed).
+     */
+    public synchronized int saveChanges() {
+        int saved = 0;
+        // Flags are cleared before writing, so a change made during the write marks the file again.
+        if (instructorsDirty.getAndSet(false)) {
+            if (ioService.exportInstructors(instructorService.getAllInstructors())) saved++;
+            else instructorsDirty.set(true);
+        }
+        if (coursesDirty.getAndSet(false)) {
+            if (ioService.exportCourses(courseService.getAllCourses())) saved++;
+            else coursesDirty.set(true);
+        }
+        if (studentsDirty.getAndSet(false)) {
+            try (VersionedStore.Snapshot snapshot = studentService.openSnapshot()) {
+                if (ioService.exportSnapshot(snapshot)) saved++;
+                else studentsDirty.set(true);
+            }
+        }
+        return saved;
+    }
+
+    public boolean hasUnsavedChanges() {
+        return studentsDirty.get() || coursesDirty.get() || instructorsDirty.get();
+    }
+
+    // A scheduled task that throws is never run again, so failures are only reported.
+    private void saveQuietly() {
+        try {
+            saveChanges();
+        } catch (RuntimeException e) {
+            System.err.println("Auto-save failed: " + e.getMessage());
+        }
+    }
+
+    private void backup() {
+        saveQuietly(); // back up what is in memory, not what was last saved
+        try {
+            backupService.performCompressedBackup();
+        } catch (RuntimeException e) {
+            System.err.println("Scheduled backup failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void studentAdded(Student student) {
+        studentsDirty.set(true);
+    }
+
+    @Override
+    public void studentUpdated(Student student) {
+        studentsDirty.set(true);
+    }
+
+    @Override
+    public void courseAdded(Course course) {
+        coursesDirty.set(true);
+    }
+
+    @Override
+    public void courseUpdated(Course course) {
+        coursesDirty.set(true);
+    }
+
+    @Override
+    public void enrolled(Student student, Course course) {
+        studentsDirty.set(true);
+    }
+
+    @Override
+    public void unenrolled(Student student, Course course) {
+        studentsDirty.set(true);
+    }
+
+    @Override
+    public void graded(Student student, Course course, Grade grade) {
+        studentsDirty.set(true);
+    }
+
+    @Override
+    public void instructorAdded(Instructor instructor) {
+        instructorsDirty.set(true);
+    }
+
+    @Override
+    public void instructorAssigned(Course course, Instructor instructor) {
+        coursesDirty.set(true); // the assignment is stored in courses.csv
+    }
+
+    /**
+     * Stops the schedules (waiting for a save in progress) and saves what is left.
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        saveChanges();
+    }
+}
@@ -1,11 +1,20 @@
 package edu.ccrm.io;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Handles creating backups and performing recursive file operations.
@@ -14,6 +23,8 @@ public class BackupService {
 
     private static final Path DATA_DIR = Paths.get("data");
     private static final Path BACKUP_DIR = Paths.get("backups");
+    private static final String COMPRESSED_EXTENSION = ".tar.gz";
+    private static final int TAR_BLOCK = 512;
     
     /**
      * Creates a timestamped backup of the entire data directory.
@@ -48,6 +59,150 @@ public class BackupService {
         }
     }
     
+    /**
+     * Creates a timestamped, single-file backup of the data directory as a
+     * gzip-compressed tar archive. Files are streamed straight into the archive
+     * and compressed in parallel blocks, so nothing is copied uncompressed.
+     *
+     * @return The archive path, or null if nothing was backed up.
+     */
+    public Path performCompressedBackup() {
+        if (!Files.exists(DATA_DIR)) {
+            System.out.println("Data directory does not exist. Nothing to back up.");
+            return null;
+        }
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
+        Path archive = BACKUP_DIR.resolve(timestamp + COMPRESSED_EXTENSION);
+        try {
+            Files.createDirectories(BACKUP_DIR);
+            List<Path> files;
+            try (Stream<Path> paths = Files.walk(DATA_DIR)) {
+                files = paths.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            try (OutputStream out = new ParallelGzipOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(archive), 1 << 16))) {
+                for (Path file : files) {
+                    writeTarEntry(out, DATA_DIR.relativize(file), file);
+                }
+                out.write(new byte[TAR_BLOCK * 2]); // end-of-archive marker
+            }
+            System.out.printf("Compressed backup created at: %s (%.2f KB)%n",
+                    archive.toAbsolutePath(), Files.size(archive) / 1024.0);
+            return archive;
+        } catch (IOException e) {
+            System.err.println("Compressed backup failed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Extracts a compressed backup into the data directory, overwriting files
+     * with the same name. The application should be restarted (or not yet
+     * have loaded data) so the restored files are what gets read.
+     *
+     * @return The number of files restored.
+     */
+    public int restoreCompressedBackup(Path archive) throws IOException {
+        Path target = DATA_DIR.toAbsolutePath().normalize();
+        Files.createDirectories(target);
+        int restored = 0;
+        try (InputStream in = new BufferedInputStream(new GZIPInputStream(Files.newInputStream(archive), 1 << 16))) {
+            byte[] header = new byte[TAR_BLOCK];
+            while (readFully(in, header)) {
+                if (isZeroBlock(header)) break;
+                String name = tarString(header, 0, 100);
+                String prefix = tarString(header, 345, 155);
+                if (!prefix.isEmpty()) name = prefix + "/" + name;
+                long size = Long.parseLong(tarString(header, 124, 12).trim(), 8);
+
+                Path destination = target.resolve(name).normalize();
+                if (!destination.startsWith(target)) {
+                    throw new IOException("Backup entry escapes the data directory: " + name);
+                }
+                Files.createDirectories(destination.getParent());
+                try (OutputStream out = Files.newOutputStream(destination)) {
+                    copy(in, out, size);
+                }
+                in.skipNBytes(padding(size));
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    // --- Minimal ustar writer/reader ---
+
+    private static void writeTarEntry(OutputStream out, Path relative, Path file) throws IOException {
+        String name = relative.toString().replace('\\', '/');
+        String prefix = "";
+        if (name.getBytes(StandardCharsets.UTF_8).length > 100) {
+            int split = name.lastIndexOf('/', 154);
+            if (split <= 0 || name.length() - split - 1 > 100) throw new IOException("Path too long for tar: " + name);
+            prefix = name.substring(0, split);
+            name = name.substring(split + 1);
+        }
+        long size = Files.size(file);
+
+        byte[] header = new byte[TAR_BLOCK];
+        putString(header, 0, 100, name);
+        putString(header, 100, 8, "0000644");
+        putString(header, 108, 8, "0000000");
+        putString(header, 116, 8, "0000000");
+        putString(header, 124, 12, String.format("%011o", size));
+        putString(header, 136, 12, String.format("%011o", Files.getLastModifiedTime(file).toMillis() / 1000));
+        putString(header, 148, 8, "        "); // checksum is computed with this field as spaces
+        header[156] = '0';
+        putString(header, 257, 6, "ustar");
+        putString(header, 263, 2, "00");
+        putString(header, 345, 155, prefix);
+        int checksum = 0;
+        for (byte b : header) checksum += b & 0xFF;
+        putString(header, 148, 8, String.format("%06o", checksum) + "\0 ");
+
+        out.write(header);
+        long copied = Files.copy(file, out);
+        if (copied != size) throw new IOException("File changed during backup: " + file);
+        out.write(new byte[(int) padding(size)]);
+    }
+
+    private static long padding(long size) {
+        return (TAR_BLOCK - size % TAR_BLOCK) % TAR_BLOCK;
+    }
+
+    private static void putString(byte[] header, int offset, int length, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(bytes, 0, header, offset, Math.min(bytes.length, length));
+    }
+
+    private static String tarString(byte[] header, int offset, int length) {
+        int end = offset;
+        while (end < offset + length && header[end] != 0) end++;
+        return new String(header, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isZeroBlock(byte[] block) {
+        for (byte b : block) if (b != 0) return false;
+        return true;
+    }
+
+    private static boolean readFully(InputStream in, byte[] buffer) throws IOException {
+        int read = in.readNBytes(buffer, 0, buffer.length);
+        if (read == 0) return false;
+        if (read < buffer.length) throw new EOFException("Truncated backup archive.");
+        return true;
+    }
+
+    private static void copy(InputStream in, OutputStream out, long size) throws IOException {
+        byte[] buffer = new byte[1 << 16];
+        while (size > 0) {
+            int n = in.read(buffer, 0, (int) Math.min(buffer.length, size));
+            if (n < 0) throw new EOFException("Truncated backup archive.");
+            out.write(buffer, 0, n);
+            size -= n;
+        }
+    }
+
     /**
      * Recursively calculates the total size of a directory.
      * The Files.walk() method handles the directory traversal, making the
@@ -0,0 +1,380 @@
+package edu.ccrm.io;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.EnrollmentRecord;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.StudentRecord;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * A column-oriented export of every enrollment with its course's attributes,
+ * for analytics that would otherwise re-parse enrollments.csv in full.
+ *
+ * Rows are sorted by department, course, grade and registration number, and each column
+ * is stored separately: a sorted dictionary of its distinct values, then either
+ * one code per row or (for the sorted and low-cardinality columns) runs of equal
+ * codes. The directory in the header gives each column's location and min/max,
+ * so a reader can rule a file out from the statistics alone, or decode just the
+ * columns a question needs (e.g. department runs plus grades, for a
+ * department's grade distribution) from the memory-mapped file.
+ *
+ * File layout (big-endian):
+ * <pre>
+ * header    : magic "CCRC" | int formatVersion | int rowCount | int columnCount
+ * directory : columnCount x (str name | byte encoding | byte valueType | str min | str max
+ *                            | int offset | int length)
+ * column    : int dictionarySize | dictionarySize x str
+ *             then DICTIONARY: rowCount x varint code
+ *               or RUN_LENGTH: int runCount | runCount x (varint code | varint runLength)
+ * str       : unsigned short length | UTF-8 bytes
+ * </pre>
+ * Columns: department, course, semester, credits, grade (run-length) and regNo
+ * (dictionary). Ungraded enrollments have the grade "NULL". Limited to 2 GB.
+ */
+public class ColumnarEnrollments implements AutoCloseable {
+
+    public static final Path DEFAULT_FILE = Paths.get("analytics", "enrollments.ccol");
+    public static final String NO_GRADE = "NULL";
+
+    private static final int MAGIC = 0x43435243; // "CCRC"
+    private static final int FORMAT_VERSION = 1;
+
+    public enum Encoding { DICTIONARY, RUN_LENGTH }
+
+    // How a column's values are ordered, for its dictionary and min/max.
+    private enum ValueType {
+        TEXT(Comparator.naturalOrder()),
+        NUMBER(Comparator.comparingLong(Long::parseLong)),
+        GRADE(Comparator.comparingInt(g -> g.equals(NO_GRADE) ? Integer.MAX_VALUE : Grade.valueOf(g).ordinal()));
+
+        private final Comparator<String> order;
+
+        ValueType(Comparator<String> order) {
+            this.order = order;
+        }
+    }
+
+    /**
+     * A column's directory entry; min and max ignore ungraded rows and are empty for an empty column.
+     */
+    public record Column(String name, Encoding encoding, String min, String max, int offset, int length) { }
+
+    /**
+     * Rows firstRow .. firstRow + rowCount - 1 all hold value.
+     */
+    public record Run(String value, int firstRow, int rowCount) { }
+
+    // One row per enrollment while writing.
+    private record Row(String department, String course, String semester, String credits, String grade, String regNo) { }
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int rowCount;
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+
+    private ColumnarEnrollments(Path file, FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Not a CCRM columnar export: " + file);
+        }
+        this.rowCount = buffer.getInt(8);
+        int columnCount = buffer.getInt(12);
+        ByteBuffer in = buffer.duplicate().position(16);
+        for (int i = 0; i < columnCount; i++) {
+            String name = readString(in);
+            Encoding encoding = Encoding.values()[in.get()];
+            in.get(); // value type; only the writer needs it
+            Column column = new Column(name, encoding, readString(in), readString(in), in.getInt(), in.getInt());
+            columns.put(name, column);
+        }
+    }
+
+    /**
+     * Maps an existing export read-only.
+     */
+    public static ColumnarEnrollments open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) throw new IOException("Export larger than 2 GB: " + file);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ColumnarEnrollments(file, channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the records' enrollments as a new export, replacing the file atomically.
+     * Courses are looked up by code; an unknown course gets department "UNKNOWN".
+     *
+     * @return The number of rows written.
+     */
+    public static int write(Path file, List<StudentRecord> records, Function<String, Course> courses) throws IOException {
+        Map<String, Course> courseCache = new HashMap<>();
+        List<Row> rows = new ArrayList<>();
+        for (StudentRecord s : records) {
+            for (EnrollmentRecord e : s.enrollments()) {
+                Course course = courseCache.computeIfAbsent(e.courseCode(), courses);
+                String department = course == null || course.getDepartment() == null
+                        ? "UNKNOWN" : course.getDepartment().toUpperCase(Locale.ROOT);
+                String semester = course == null || course.getSemester() == null ? "UNKNOWN" : course.getSemester().name();
+                rows.add(new Row(department, e.courseCode(), semester, String.valueOf(e.credits()),
+                        e.grade() == null ? NO_GRADE : e.grade().name(), s.regNo()));
+            }
+        }
+        rows.sort(Comparator.comparing(Row::department).thenComparing(Row::course).thenComparing(Row::grade)
+                .thenComparing(Row::regNo));
+
+        List<ColumnData> data = List.of(
+                encode("department", Encoding.RUN_LENGTH, ValueType.TEXT, rows, Row::department),
+                encode("course", Encoding.RUN_LENGTH, ValueType.TEXT, rows, Row::course),
+                encode("semester", Encoding.RUN_LENGTH, ValueType.TEXT, rows, Row::semester),
+                encode("credits", Encoding.RUN_LENGTH, ValueType.NUMBER, rows, Row::credits),
+                encode("grade", Encoding.RUN_LENGTH, ValueType.GRADE, rows, Row::grade),
+                encode("regNo", Encoding.DICTIONARY, ValueType.TEXT, rows, Row::regNo));
+
+        ByteArrayOutputStream directory = new ByteArrayOutputStream();
+        DataOutputStream directoryOut = new DataOutputStream(directory);
+        for (ColumnData column : data) {
+            writeString(directoryOut, column.name);
+            directoryOut.writeByte(column.encoding.ordinal());
+            directoryOut.writeByte(column.type.ordinal());
+            writeString(directoryOut, column.min);
+            writeString(directoryOut, column.max);
+            directoryOut.writeInt(0); // offset and length, patched below once the size is known
+            directoryOut.writeInt(0);
+        }
+        directoryOut.flush();
+        long offset = 16L + directory.size();
+
+        ByteBuffer patched = ByteBuffer.wrap(directory.toByteArray());
+        int position = 0;
+        for (ColumnData column : data) {
+            position += 2 + utf8(column.name).length + 2;
+            position += 2 + utf8(column.min).length + 2 + utf8(column.max).length;
+            patched.putInt(position, (int) offset);
+            patched.putInt(position + 4, column.bytes.length);
+            position += 8;
+            offset += column.bytes.length;
+        }
+        if (offset > Integer.MAX_VALUE) throw new IOException("Export larger than 2 GB.");
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream((int) offset);
+        DataOutputStream out = new DataOutputStream(content);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(rows.size());
+        out.writeInt(data.size());
+        out.write(patched.array());
+        for (ColumnData column : data) out.write(column.bytes);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        ImportExportService.writeAtomically(file, content.toByteArray());
+        return rows.size();
+    }
+
+    // An encoded column waiting to be written.
+    private record ColumnData(String name, Encoding encoding, ValueType type, String min, String max, byte[] bytes) { }
+
+    private static ColumnData encode(String name, Encoding encoding, ValueType type, List<Row> rows,
+                                     Function<Row, String> value) throws IOException {
+        TreeSet<String> distinct = new TreeSet<>(type.order);
+        for (Row row : rows) distinct.add(value.apply(row));
+        String[] dictionary = distinct.toArray(new String[0]);
+        Map<String, Integer> codes = new HashMap<>();
+        for (int i = 0; i < dictionary.length; i++) codes.put(dictionary[i], i);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(dictionary.length);
+        for (String entry : dictionary) writeString(out, entry);
+        if (encoding == Encoding.DICTIONARY) {
+            for (Row row : rows) writeVarint(out, codes.get(value.apply(row)));
+        } else {
+            ByteArrayOutputStream runs = new ByteArrayOutputStream();
+            DataOutputStream runsOut = new DataOutputStream(runs);
+            int runCount = 0;
+            for (int start = 0; start < rows.size(); ) {
+                String current = value.apply(rows.get(start));
+                int end = start + 1;
+                while (end < rows.size() && value.apply(rows.get(end)).equals(current)) end++;
+                writeVarint(runsOut, codes.get(current));
+                writeVarint(runsOut, end - start);
+                runCount++;
+                start = end;
+            }
+            runsOut.flush();
+            out.writeInt(runCount);
+            runs.writeTo(out);
+        }
+        out.flush();
+
+        // Statistics skip the "no grade" marker, which sorts last.
+        String[] stats = Arrays.stream(dictionary).filter(v -> type != ValueType.GRADE || !v.equals(NO_GRADE))
+                .toArray(String[]::new);
+        String min = stats.length == 0 ? "" : stats[0];
+        String max = stats.length == 0 ? "" : stats[stats.length - 1];
+        return new ColumnData(name, encoding, type, min, max, bytes.toByteArray());
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int rows() {
+        return rowCount;
+    }
+
+    public List<Column> columns() {
+        return new ArrayList<>(columns.values());
+    }
+
+    /**
+     * Decodes one column into a value per row, reading no other column.
+     */
+    public List<String> values(String name) {
+        Column column = column(name);
+        ByteBuffer in = buffer.duplicate().position(column.offset());
+        String[] dictionary = readDictionary(in);
+        List<String> values = new ArrayList<>(rowCount);
+        if (column.encoding() == Encoding.DICTIONARY) {
+            for (int i = 0; i < rowCount; i++) values.add(dictionary[readVarint(in)]);
+        } else {
+            int runCount = in.getInt();
+            for (int i = 0; i < runCount; i++) {
+                String value = dictionary[readVarint(in)];
+                int length = readVarint(in);
+                for (int j = 0; j < length; j++) values.add(value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * The runs of a run-length column, without expanding them to rows.
+     */
+    public List<Run> runs(String name) {
+        Column column = column(name);
+        if (column.encoding() != Encoding.RUN_LENGTH) {
+            throw new IllegalArgumentException("Column '" + name + "' is not run-length encoded.");
+        }
+        ByteBuffer in = buffer.duplicate().position(column.offset());
+        String[] dictionary = readDictionary(in);
+        int runCount = in.getInt();
+        List<Run> runs = new ArrayList<>(runCount);
+        int row = 0;
+        for (int i = 0; i < runCount; i++) {
+            String value = dictionary[readVarint(in)];
+            int length = readVarint(in);
+            runs.add(new Run(value, row, length));
+            row += length;
+        }
+        return runs;
+    }
+
+    /**
+     * Counts the grades given in one department's courses (ungraded rows are
+     * left out), reading only the department and grade columns. Departments are
+     * matched ignoring case.
+     */
+    public Map<Grade, Integer> gradeCounts(String name) {
+        String department = name.trim().toUpperCase(Locale.ROOT);
+        Map<Grade, Integer> counts = new EnumMap<>(Grade.class);
+        Column departments = column("department");
+        if (departments.min().isEmpty() || department.compareTo(departments.min()) < 0
+                || department.compareTo(departments.max()) > 0) {
+            return counts; // ruled out by the statistics alone
+        }
+        List<Run> ranges = runs("department").stream().filter(run -> run.value().equals(department)).toList();
+        if (ranges.isEmpty()) return counts;
+
+        for (Run grade : runs("grade")) {
+            if (grade.value().equals(NO_GRADE)) continue;
+            for (Run range : ranges) {
+                int overlap = Math.min(grade.firstRow() + grade.rowCount(), range.firstRow() + range.rowCount())
+                        - Math.max(grade.firstRow(), range.firstRow());
+                if (overlap > 0) counts.merge(Grade.valueOf(grade.value()), overlap, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private Column column(String name) {
+        Column column = columns.get(name);
+        if (column == null) throw new IllegalArgumentException("No column '" + name + "' in " + file + ".");
+        return column;
+    }
+
+    private static String[] readDictionary(ByteBuffer in) {
+        String[] dictionary = new String[in.getInt()];
+        for (int i = 0; i < dictionary.length; i++) dictionary[i] = readString(in);
+        return dictionary;
+    }
+
+    // Unsigned LEB128: seven bits per byte, high bit set on all but the last byte.
+    private static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarint(ByteBuffer in) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static byte[] utf8(String value) {
+        return (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = utf8(value);
+        if (bytes.length > 0xFFFF) throw new IOException("Field too long for columnar export.");
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort() & 0xFFFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
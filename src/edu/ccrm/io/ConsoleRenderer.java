@@ -0,0 +1,187 @@
+package edu.ccrm.io;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.EnrollmentRecord;
+import edu.ccrm.domain.Student;
+import edu.ccrm.domain.StudentRecord;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+
+/**
+ * Renders listings and transcripts for the console or a file.
+ *
+ * Rows are appended to one reusable buffer and written out in large blocks,
+ * instead of one synchronized, flushed println per row. Rows are built by
+ * appending with fixed column widths and a shared date formatter, so no format
+ * string is parsed per row. The text matches the entities' own toString and
+ * profile formats. Nothing reaches the output until the buffer fills or
+ * {@link #flush()} / {@link #close()} is called.
+ */
+public class ConsoleRenderer implements AutoCloseable {
+
+    private static final int BLOCK_CHARS = 1 << 16;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int COURSE_COLUMN = 25;
+    private static final int GRADE_COLUMN = 12;
+    private static final String RULE = "-".repeat(50);
+    private static final String NEWLINE = System.lineSeparator();
+
+    private final PrintWriter out;
+    private final boolean ownsOutput;
+    private final StringBuilder buffer = new StringBuilder(BLOCK_CHARS + 1024);
+    private final char[] block = new char[BLOCK_CHARS];
+
+    private ConsoleRenderer(PrintWriter out, boolean ownsOutput) {
+        this.out = out;
+        this.ownsOutput = ownsOutput;
+    }
+
+    /**
+     * Renders to whatever System.out currently is.
+     */
+    public static ConsoleRenderer console() {
+        System.out.flush(); // keep anything printed earlier ahead of our output
+        return new ConsoleRenderer(new PrintWriter(new OutputStreamWriter(
+                new BufferedOutputStream(System.out, BLOCK_CHARS), Charset.defaultCharset()), false), false);
+    }
+
+    /**
+     * Renders to a file, replacing it; the file is closed by {@link #close()}.
+     */
+    public static ConsoleRenderer toFile(Path file) throws IOException {
+        return new ConsoleRenderer(new PrintWriter(Files.newBufferedWriter(file)), true);
+    }
+
+    /**
+     * Renders into a writer, e.g. a StringWriter to keep the text for later.
+     */
+    public static ConsoleRenderer toWriter(Writer writer) {
+        return new ConsoleRenderer(new PrintWriter(writer), true);
+    }
+
+    /**
+     * Appends text rendered earlier, as is.
+     */
+    public ConsoleRenderer text(String rendered) {
+        buffer.append(rendered);
+        if (buffer.length() >= BLOCK_CHARS) drain();
+        return this;
+    }
+
+    public ConsoleRenderer line(String text) {
+        buffer.append(text);
+        return endLine();
+    }
+
+    /**
+     * One "Student: name (Reg No: regNo)" row per student.
+     */
+    public ConsoleRenderer students(Collection<? extends Student> students) {
+        for (Student student : students) {
+            profile(student.getFullName(), student.getRegNo());
+        }
+        return this;
+    }
+
+    /**
+     * One "Course: [code] title (n credits)" row per course.
+     */
+    public ConsoleRenderer courses(Collection<Course> courses) {
+        for (Course course : courses) {
+            buffer.append("Course: [").append(course.getCode()).append("] ").append(course.getTitle())
+                    .append(" (").append(course.getCredits()).append(" credits)");
+            endLine();
+        }
+        return this;
+    }
+
+    /**
+     * The full transcript block: profile, enrollments and cumulative GPA.
+     */
+    public ConsoleRenderer transcript(StudentRecord record) {
+        buffer.append(NEWLINE).append("--- TRANSCRIPT ---");
+        endLine();
+        profile(record.fullName(), record.regNo());
+        line(RULE);
+        if (record.enrollments().isEmpty()) {
+            line("No courses enrolled.");
+        } else {
+            record.enrollments().forEach(this::enrollment);
+        }
+        line(RULE);
+        line(String.format("Cumulative GPA: %.2f", record.gpa()));
+        line("--- END OF TRANSCRIPT ---");
+        return line("");
+    }
+
+    /**
+     * One row in the same layout as {@link EnrollmentRecord#toString()}.
+     */
+    public ConsoleRenderer enrollment(EnrollmentRecord e) {
+        buffer.append("Course: ");
+        int start = buffer.length();
+        buffer.append(e.courseTitle()).append(" (").append(e.courseCode()).append(')');
+        pad(start, COURSE_COLUMN);
+        buffer.append(" | Grade: ");
+        start = buffer.length();
+        buffer.append(e.grade() != null ? e.grade().toString() : "Not Graded");
+        pad(start, GRADE_COLUMN);
+        buffer.append(" | Credits: ").append(e.credits()).append(" | Enrolled on: ");
+        DATE_FORMATTER.formatTo(e.enrollmentDate(), buffer);
+        return endLine();
+    }
+
+    private void profile(String fullName, String regNo) {
+        buffer.append("Student: ").append(fullName).append(" (Reg No: ").append(regNo).append(')');
+        endLine();
+    }
+
+    // Left-justifies the text appended since start to at least width characters.
+    private void pad(int start, int width) {
+        for (int i = buffer.length() - start; i < width; i++) buffer.append(' ');
+    }
+
+    private ConsoleRenderer endLine() {
+        buffer.append(NEWLINE);
+        if (buffer.length() >= BLOCK_CHARS) drain();
+        return this;
+    }
+
+    private void drain() {
+        for (int start = 0; start < buffer.length(); start += block.length) {
+            int end = Math.min(buffer.length(), start + block.length);
+            buffer.getChars(start, end, block, 0);
+            out.write(block, 0, end - start);
+        }
+        buffer.setLength(0);
+    }
+
+    /**
+     * Writes everything rendered so far.
+     */
+    public void flush() {
+        drain();
+        out.flush();
+    }
+
+    /**
+     * @return True if writing to the output has failed.
+     */
+    public boolean checkError() {
+        return out.checkError();
+    }
+
+    @Override
+    public void close() {
+        flush();
+        if (ownsOutput) out.close();
+    }
+}
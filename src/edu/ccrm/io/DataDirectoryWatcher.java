@@ -0,0 +1,292 @@
+package edu.ccrm.io;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Student;
+import edu.ccrm.service.CourseService;
+import edu.ccrm.service.EnrollmentService;
+import edu.ccrm.service.StudentService;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Watches the data directory and applies edits made to students.csv, courses.csv
+ * or enrollments.csv while the application is running, without a restart.
+ *
+ * Each changed file is re-read and compared row by row with what is in memory;
+ * only the difference is applied through the services, so a file identical to
+ * the in-memory state changes nothing. Files this process saved itself (see
+ * {@link ImportExportService}) are recognised by their content and skipped
+ * entirely: they may be a snapshot taken before the latest changes, and
+ * "applying" them would revert those changes. Bursts of events
+ * from one editor save are coalesced with a short quiet period. Rows removed from
+ * a file are reported but not deleted, and course credits are never changed
+ * because existing GPAs are weighted by them.
+ */
+public class DataDirectoryWatcher implements AutoCloseable {
+
+    private static final String STUDENTS_FILE = "students.csv";
+    private static final String COURSES_FILE = "courses.csv";
+    private static final String ENROLLMENTS_FILE = "enrollments.csv";
+    // Dependency order: enrollments refer to students and courses.
+    private static final List<String> WATCHED_FILES = List.of(STUDENTS_FILE, COURSES_FILE, ENROLLMENTS_FILE);
+    private static final long QUIET_PERIOD_MILLIS = 400;
+
+    private final Path dataDirectory;
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    public DataDirectoryWatcher(Path dataDirectory, StudentService studentService,
+                                CourseService courseService, EnrollmentService enrollmentService) throws IOException {
+        this.dataDirectory = dataDirectory;
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+        Files.createDirectories(dataDirectory);
+        this.watchService = FileSystems.getDefault().newWatchService();
+        dataDirectory.register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        this.thread = new Thread(this::watchLoop, "data-watcher");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    private void watchLoop() {
+        Set<String> changed = new HashSet<>();
+        try {
+            while (true) {
+                // Block for the first event, then keep collecting until the directory goes quiet.
+                WatchKey key = changed.isEmpty()
+                        ? watchService.take()
+                        : watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    reload(changed);
+                    changed.clear();
+                    continue;
+                }
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        changed.addAll(WATCHED_FILES);
+                    } else if (WATCHED_FILES.contains(event.context().toString())) {
+                        changed.add(event.context().toString());
+                    }
+                }
+                if (!key.reset()) return; // the directory itself went away
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed by the application; stop quietly.
+        }
+    }
+
+    /**
+     * Applies the changed files in dependency order.
+     */
+    void reload(Set<String> changedFiles) {
+        for (String file : WATCHED_FILES) {
+            if (!changedFiles.contains(file)) continue;
+            Path path = dataDirectory.resolve(file);
+            try {
+                byte[] content = Files.readAllBytes(path);
+                if (ImportExportService.isOwnWrite(path, content)) continue;
+                List<String> lines = new String(content, StandardCharsets.UTF_8).lines().toList();
+                ReloadResult result = switch (file) {
+                    case STUDENTS_FILE -> applyStudents(lines);
+                    case COURSES_FILE -> applyCourses(lines);
+                    default -> applyEnrollments(lines);
+                };
+                if (result.hasChanges()) {
+                    System.out.println("[reload] " + file + ": " + result);
+                }
+            } catch (IOException e) {
+                // The file may be mid-rename by an editor; the next event retries it.
+                System.err.println("[reload] Could not read " + path + ": " + e.getMessage());
+            } catch (RuntimeException e) {
+                System.err.println("[reload] Failed to apply " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    ReloadResult applyStudents(List<String> lines) {
+        ReloadResult result = new ReloadResult();
+        Map<String, Student> live = studentService.getAllStudents().stream()
+                .collect(Collectors.toMap(Student::getRegNo, s -> s));
+        Set<String> seen = new HashSet<>();
+        for (String line : lines) {
+            if (line.isBlank()) continue;
+            Student parsed;
+            try {
+                parsed = ImportExportService.parseStudent(line);
+            } catch (IllegalArgumentException e) {
+                System.err.println("[reload] Rejected " + e.getMessage() + ": " + line);
+                result.rejected++;
+                continue;
+            }
+            seen.add(parsed.getRegNo());
+            Student existing = live.get(parsed.getRegNo());
+            if (existing == null) {
+                studentService.addStudent(parsed);
+                result.inserted++;
+            } else if (!Objects.equals(existing.getFullName(), parsed.getFullName())
+                    || !Objects.equals(existing.getEmail(), parsed.getEmail())
+                    || !Objects.equals(existing.getDateOfBirth(), parsed.getDateOfBirth())) {
+                synchronized (existing) {
+                    existing.setFullName(parsed.getFullName());
+                    existing.setEmail(parsed.getEmail());
+                    existing.setDateOfBirth(parsed.getDateOfBirth());
+                }
+                studentService.updateStudent(existing);
+                result.updated++;
+            }
+        }
+        result.missing = (int) live.keySet().stream().filter(regNo -> !seen.contains(regNo)).count();
+        return result;
+    }
+
+    ReloadResult applyCourses(List<String> lines) {
+        ReloadResult result = new ReloadResult();
+        Map<String, Course> live = courseService.getAllCourses().stream()
+                .collect(Collectors.toMap(Course::getCode, c -> c));
+        Set<String> seen = new HashSet<>();
+        for (String line : lines) {
+            if (line.isBlank()) continue;
+            Course parsed;
+            try {
+                parsed = ImportExportService.parseCourse(line);
+            } catch (IllegalArgumentException e) {
+                System.err.println("[reload] Rejected " + e.getMessage() + ": " + line);
+                result.rejected++;
+                continue;
+            }
+            seen.add(parsed.getCode());
+            Course existing = live.get(parsed.getCode());
+            if (existing == null) {
+                courseService.addCourse(parsed);
+                result.inserted++;
+            } else if (existing.getCredits() != parsed.getCredits()) {
+                System.err.println("[reload] Rejected credit change for " + parsed.getCode()
+                        + " (" + existing.getCredits() + " -> " + parsed.getCredits() + "): " + line);
+                result.rejected++;
+            } else if (!Objects.equals(existing.getTitle(), parsed.getTitle())
+                    || !Objects.equals(existing.getDepartment(), parsed.getDepartment())
+                    || existing.getSemester() != parsed.getSemester()
+                    || !existing.getTimeSlots().equals(parsed.getTimeSlots())) {
+                try {
+                    courseService.updateCourse(parsed);
+                    result.updated++;
+                } catch (IllegalArgumentException e) {
+                    System.err.println("[reload] Rejected " + e.getMessage() + ": " + line);
+                    result.rejected++;
+                }
+            }
+        }
+        result.missing = (int) live.keySet().stream().filter(code -> !seen.contains(code)).count();
+        return result;
+    }
+
+    ReloadResult applyEnrollments(List<String> lines) {
+        ReloadResult result = new ReloadResult();
+        Map<String, Student> students = studentService.getAllStudents().stream()
+                .collect(Collectors.toMap(Student::getRegNo, s -> s));
+        Map<String, Set<String>> seen = new HashMap<>();
+        for (String line : lines) {
+            if (line.isBlank()) continue;
+            String[] parts = line.split(",");
+            if (parts.length < 3) {
+                System.err.println("[reload] Rejected malformed enrollment line: " + line);
+                result.rejected++;
+                continue;
+            }
+            Student student = students.get(parts[0]);
+            Optional<Course> course = courseService.findCourseByCode(parts[1]);
+            if (student == null || course.isEmpty()) {
+                System.err.println("[reload] Rejected enrollment, student or course not found: " + line);
+                result.rejected++;
+                continue;
+            }
+            seen.computeIfAbsent(parts[0], k -> new HashSet<>()).add(parts[1]);
+            try {
+                Grade grade = "NULL".equalsIgnoreCase(parts[2]) ? null : Grade.valueOf(parts[2]);
+                Optional<Enrollment> existing = student.getEnrolledCourses().stream()
+                        .filter(e -> e.getCourse().getCode().equals(parts[1]))
+                        .findFirst();
+                if (existing.isEmpty()) {
+                    enrollmentService.enrollStudent(student, course.get());
+                    if (grade != null) enrollmentService.assignGrade(student, course.get(), grade);
+                    result.inserted++;
+                } else if (grade != null && existing.get().getGrade() != grade) {
+                    enrollmentService.assignGrade(student, course.get(), grade);
+                    result.updated++;
+                }
+            } catch (Exception e) {
+                System.err.println("[reload] Rejected enrollment line: " + line + " | Reason: " + e.getMessage());
+                result.rejected++;
+            }
+        }
+        for (Student student : students.values()) {
+            Set<String> codes = seen.getOrDefault(student.getRegNo(), Set.of());
+            result.missing += (int) student.getEnrolledCourses().stream()
+                    .filter(e -> !codes.contains(e.getCourse().getCode()))
+                    .count();
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            System.err.println("Could not close data watcher: " + e.getMessage());
+        }
+        thread.interrupt();
+        try {
+            thread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Row counts for one reloaded file.
+     */
+    static final class ReloadResult {
+        int inserted;
+        int updated;
+        int rejected;
+        int missing;
+
+        boolean hasChanges() {
+            return inserted > 0 || updated > 0 || rejected > 0;
+        }
+
+        @Override
+        public String toString() {
+            String summary = inserted + " inserted, " + updated + " updated, " + rejected + " rejected";
+            return missing > 0 ? summary + " (" + missing + " rows no longer in file were kept)" : summary;
+        }
+    }
+}
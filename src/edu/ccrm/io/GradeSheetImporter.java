@@ -0,0 +1,143 @@
+package edu.ccrm.io;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Student;
+import edu.ccrm.service.CourseService;
+import edu.ccrm.service.EnrollmentService;
+import edu.ccrm.service.StudentService;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Imports a whole grade sheet (CSV of regNo,courseCode,grade) at once.
+ *
+ * Rows are validated in parallel against the students, courses and enrollments,
+ * then every valid row is applied with one {@link EnrollmentService#assignGrades}
+ * call per student. Invalid rows are never applied and are returned, with the
+ * reason, in the result. A header row starting with "regNo" is skipped.
+ */
+public class GradeSheetImporter {
+
+    /**
+     * A row that was not applied.
+     */
+    public record Rejection(int lineNumber, String line, String reason) { }
+
+    /**
+     * The outcome of one sheet: how many grades were applied to how many students, and what was rejected.
+     */
+    public record Result(int applied, int students, List<Rejection> rejections) { }
+
+    // A validated row, or the reason it is invalid.
+    private record Row(int lineNumber, String line, Student student, Course course, Grade grade, String error) { }
+
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+
+    public GradeSheetImporter(StudentService studentService, CourseService courseService, EnrollmentService enrollmentService) {
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+    }
+
+    public Result importSheet(Path sheet) throws IOException {
+        return importLines(Files.readAllLines(sheet));
+    }
+
+    public Result importLines(List<String> lines) {
+        List<Row> rows = IntStream.range(0, lines.size()).parallel()
+                .filter(i -> !lines.get(i).isBlank() && !(i == 0 && isHeader(lines.get(0))))
+                .mapToObj(i -> validate(i + 1, lines.get(i)))
+                .collect(Collectors.toList()); // encounter order is kept, so duplicates resolve top-down
+
+        List<Rejection> rejections = new ArrayList<>();
+        Map<Student, Map<Course, Grade>> byStudent = new LinkedHashMap<>();
+        Map<String, Integer> firstLineOf = new HashMap<>();
+        for (Row row : rows) {
+            if (row.error() != null) {
+                rejections.add(new Rejection(row.lineNumber(), row.line(), row.error()));
+                continue;
+            }
+            String key = row.student().getRegNo() + "," + row.course().getCode();
+            Integer first = firstLineOf.putIfAbsent(key, row.lineNumber());
+            if (first != null) {
+                rejections.add(new Rejection(row.lineNumber(), row.line(), "Duplicate of line " + first + "."));
+                continue;
+            }
+            byStudent.computeIfAbsent(row.student(), s -> new LinkedHashMap<>()).put(row.course(), row.grade());
+        }
+
+        int applied = 0;
+        for (Map.Entry<Student, Map<Course, Grade>> entry : byStudent.entrySet()) {
+            try {
+                enrollmentService.assignGrades(entry.getKey(), entry.getValue());
+                applied += entry.getValue().size();
+            } catch (RuntimeException e) {
+                // Enrollment changed after validation (e.g. a concurrent unenroll); reject the student's rows.
+                for (Course course : entry.getValue().keySet()) {
+                    rejections.add(new Rejection(0, entry.getKey().getRegNo() + "," + course.getCode(), e.getMessage()));
+                }
+            }
+        }
+        rejections.sort(Comparator.comparingInt(Rejection::lineNumber));
+        return new Result(applied, byStudent.size(), rejections);
+    }
+
+    private Row validate(int lineNumber, String line) {
+        String[] parts = line.split(",");
+        if (parts.length != 3) {
+            return reject(lineNumber, line, "Expected regNo,courseCode,grade.");
+        }
+        String regNo = parts[0].trim();
+        String code = parts[1].trim();
+        Grade grade;
+        try {
+            grade = Grade.valueOf(parts[2].trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return reject(lineNumber, line, "Unknown grade '" + parts[2].trim() + "'.");
+        }
+        Optional<Student> student = studentService.findStudentByRegNo(regNo);
+        if (student.isEmpty()) return reject(lineNumber, line, "Unknown student " + regNo + ".");
+        Optional<Course> course = courseService.findCourseByCode(code);
+        if (course.isEmpty()) return reject(lineNumber, line, "Unknown course " + code + ".");
+        boolean enrolled = student.get().getEnrolledCourses().stream()
+                .anyMatch(e -> e.getCourse().getCode().equals(code));
+        if (!enrolled) return reject(lineNumber, line, regNo + " is not enrolled in " + code + ".");
+        return new Row(lineNumber, line, student.get(), course.get(), grade, null);
+    }
+
+    private static Row reject(int lineNumber, String line, String error) {
+        return new Row(lineNumber, line, null, null, null, error);
+    }
+
+    private static boolean isHeader(String line) {
+        return line.trim().toLowerCase(Locale.ROOT).startsWith("regno");
+    }
+
+    /**
+     * Prints the applied count and every rejected row.
+     */
+    public static void printReport(Result result) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Grade sheet: %d grades applied for %d students, %d rows rejected.%n",
+                result.applied(), result.students(), result.rejections().size()));
+        for (Rejection r : result.rejections()) {
+            report.append(String.format("  line %-5s %-30s %s%n",
+                    r.lineNumber() > 0 ? String.valueOf(r.lineNumber()) : "-", r.line(), r.reason()));
+        }
+        System.out.print(report);
+    }
+}
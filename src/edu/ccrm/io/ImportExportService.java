@@ -1,33 +1,109 @@
 package edu.ccrm.io;
 
+import edu.ccrm.config.VersionedStore;
 import edu.ccrm.domain.*;
 import edu.ccrm.service.CourseService;
 import edu.ccrm.service.EnrollmentService;
+import edu.ccrm.service.InstructorService;
 import edu.ccrm.service.StudentService;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter; // Import the formatter class
 import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.zip.CRC32;
 
 public class ImportExportService {
-    private static final Path DATA_DIRECTORY = Paths.get("data");
+    private static final Path DEFAULT_DATA_DIRECTORY = Paths.get("data");
     
     // Define a formatter that matches your CSV's date format (e.g., 20-07-2006)
-    private static final DateTimeFormatter CSV_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    public static final DateTimeFormatter CSV_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+
+    // Fingerprints of the files this process saved most recently, by absolute path, so the
+    // data watcher can tell our own saves from edits made outside the application.
+    private static final Map<Path, Deque<Long>> OWN_WRITES = new ConcurrentHashMap<>();
+    private static final int OWN_WRITES_KEPT = 8;
+
+    private final Path dataDirectory;
+
+    public ImportExportService() {
+        this(DEFAULT_DATA_DIRECTORY);
+    }
+
+    /**
+     * @param dataDirectory The directory holding students.csv, courses.csv and enrollments.csv.
+     */
+    public ImportExportService(Path dataDirectory) {
+        this.dataDirectory = dataDirectory;
+    }
+
+    /**
+     * Writes the file next to its final name and renames it into place, so a
+     * reader (or a crash mid-save) never sees a half-written file.
+     */
+    private static void writeAtomically(Path file, List<String> lines) throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (String line : lines) text.append(line).append(System.lineSeparator());
+        writeAtomically(file, text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static void writeAtomically(Path file, byte[] content) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, content);
+        recordOwnWrite(file, content); // before the rename, so the watcher's event can never arrive first
+        try {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // Keeps the last few fingerprints per file: a reader may still see an earlier save of ours.
+    private static void recordOwnWrite(Path file, byte[] content) {
+        Deque<Long> fingerprints = OWN_WRITES.computeIfAbsent(file.toAbsolutePath().normalize(), k -> new ArrayDeque<>());
+        synchronized (fingerprints) {
+            fingerprints.addFirst(fingerprint(content));
+            if (fingerprints.size() > OWN_WRITES_KEPT) fingerprints.removeLast();
+        }
+    }
+
+    /**
+     * @return True if the content is exactly what this process recently saved to the file.
+     */
+    static boolean isOwnWrite(Path file, byte[] content) {
+        Deque<Long> fingerprints = OWN_WRITES.get(file.toAbsolutePath().normalize());
+        if (fingerprints == null) return false;
+        synchronized (fingerprints) {
+            return fingerprints.contains(fingerprint(content));
+        }
+    }
+
+    // Size in the high half, CRC-32 in the low half.
+    private static long fingerprint(byte[] content) {
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        return ((long) content.length << 32) | crc.getValue();
+    }
 
     // --- Student Methods ---
     public void exportStudents(List<Student> students) {
         try {
-            Files.createDirectories(DATA_DIRECTORY);
-            Path filePath = DATA_DIRECTORY.resolve("students.csv");
+            Files.createDirectories(dataDirectory);
+            Path filePath = dataDirectory.resolve("students.csv");
             List<String> lines = students.stream()
                 .map(s -> String.join(",", 
                     s.getFullName(), 
@@ -36,30 +112,23 @@ public class ImportExportService {
                     s.getDateOfBirth().format(CSV_DATE_FORMATTER),
                     s.getRegNo()))
                 .collect(Collectors.toList());
-            Files.write(filePath, lines, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            writeAtomically(filePath, lines);
         } catch (IOException e) {
             System.err.println("Failed to export students: " + e.getMessage());
         }
     }
 
     public void importStudents(StudentService studentService) {
-        Path filePath = DATA_DIRECTORY.resolve("students.csv");
+        Path filePath = dataDirectory.resolve("students.csv");
         if (!Files.exists(filePath)) {
             return;
         }
         try (Stream<String> lines = Files.lines(filePath)) {
             lines.map(line -> {
-                String[] parts = line.split(",");
-                if (parts.length < 4) {
-                    System.err.println("Skipping malformed student line: " + line);
-                    return null;
-                }
                 try {
-                    // Use the formatter to parse the date from the CSV
-                    LocalDate dob = LocalDate.parse(parts[2], CSV_DATE_FORMATTER);
-                    return new Student(parts[0], parts[1], dob, parts[3]);
-                } catch (DateTimeParseException e) {
-                    System.err.println("Skipping student line due to invalid date format: " + line);
+                    return parseStudent(line);
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Skipping " + e.getMessage() + ": " + line);
                     return null;
                 }
             })
@@ -70,45 +139,72 @@ public class ImportExportService {
         }
     }
 
+    /**
+     * Parses one students.csv row (name,email,dd-MM-yyyy,regNo).
+     *
+     * @throws IllegalArgumentException describing why the row is invalid.
+     */
+    public static Student parseStudent(String line) {
+        String[] parts = line.split(",");
+        if (parts.length < 4) {
+            throw new IllegalArgumentException("malformed student line");
+        }
+        try {
+            // Use the formatter to parse the date from the CSV
+            LocalDate dob = LocalDate.parse(parts[2], CSV_DATE_FORMATTER);
+            return new Student(parts[0], parts[1], dob, parts[3]);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("student line due to invalid date format");
+        }
+    }
+
     // --- Course Methods ---
-    public void exportCourses(List<Course> courses) {
+    public boolean exportCourses(List<Course> courses) {
         try {
-            Files.createDirectories(DATA_DIRECTORY);
-            Path filePath = DATA_DIRECTORY.resolve("courses.csv");
+            Files.createDirectories(dataDirectory);
+            Path filePath = dataDirectory.resolve("courses.csv");
             List<String> lines = courses.stream()
-                .map(c -> String.join(",",
-                    c.getCode(),
-                    c.getTitle(),
-                    String.valueOf(c.getCredits()),
-                    c.getDepartment(),
-                    c.getSemester().name()))
+                .map(c -> {
+                    String line = String.join(",",
+                        c.getCode(),
+                        c.getTitle(),
+                        String.valueOf(c.getCredits()),
+                        c.getDepartment(),
+                        c.getSemester().name());
+                    // Instructor ID and time slots are optional trailing columns so older files still load.
+                    String instructorId = c.getInstructor() == null ? "" : c.getInstructor().getId();
+                    if (!c.getTimeSlots().isEmpty()) return line + "," + instructorId + "," + TimeSlot.formatAll(c.getTimeSlots());
+                    return instructorId.isEmpty() ? line : line + "," + instructorId;
+                })
                 .collect(Collectors.toList());
-            Files.write(filePath, lines, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            writeAtomically(filePath, lines);
+            return true;
         } catch (IOException e) {
             System.err.println("Failed to export courses: " + e.getMessage());
+            return false;
         }
     }
 
     public void importCourses(CourseService courseService) {
-        Path filePath = DATA_DIRECTORY.resolve("courses.csv");
+        importCourses(courseService, null);
+    }
+
+    /**
+     * Imports courses and, when an instructor service is given, restores each
+     * course's instructor from the optional sixth column. Instructors must be
+     * imported first.
+     */
+    public void importCourses(CourseService courseService, InstructorService instructorService) {
+        Path filePath = dataDirectory.resolve("courses.csv");
         if (!Files.exists(filePath)) return;
         
         try (Stream<String> lines = Files.lines(filePath)) {
             lines.map(line -> {
-                String[] parts = line.split(",");
-                if (parts.length < 5) {
-                    System.err.println("Skipping malformed course line: " + line);
-                    return null;
-                }
                 try {
-                    return new Course.Builder(parts[0], parts[1])
-                            .credits(Integer.parseInt(parts[2]))
-                            .department(parts[3])
-                            .semester(Semester.valueOf(parts[4]))
-                            .build();
+                    return parseCourse(line);
                 } catch (IllegalArgumentException e) {
-                     System.err.println("Skipping course line due to invalid data: " + line);
-                     return null;
+                    System.err.println("Skipping " + e.getMessage() + ": " + line);
+                    return null;
                 }
             })
             .filter(java.util.Objects::nonNull)
@@ -116,13 +212,100 @@ public class ImportExportService {
         } catch (IOException e) {
             System.err.println("Failed to import courses: " + e.getMessage());
         }
+        if (instructorService != null) importCourseInstructors(filePath, courseService, instructorService);
+    }
+
+    private void importCourseInstructors(Path filePath, CourseService courseService, InstructorService instructorService) {
+        try (Stream<String> lines = Files.lines(filePath)) {
+            lines.map(line -> line.split(","))
+                 .filter(parts -> parts.length >= 6 && !parts[5].isBlank())
+                 .forEach(parts -> {
+                     Optional<Course> course = courseService.findCourseByCode(parts[0]);
+                     Optional<Instructor> instructor = instructorService.findInstructorById(parts[5]);
+                     if (course.isPresent() && instructor.isPresent()) {
+                         instructorService.assignInstructor(course.get(), instructor.get());
+                     } else {
+                         System.err.println("Skipping instructor assignment, course or instructor not found: " + String.join(",", parts));
+                     }
+                 });
+        } catch (IOException e) {
+            System.err.println("Failed to import course instructors: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parses one courses.csv row (code,title,credits,department,SEMESTER[,instructorId[,slots]]).
+     * The instructor column is resolved separately, once instructors are loaded.
+     *
+     * @throws IllegalArgumentException describing why the row is invalid.
+     */
+    public static Course parseCourse(String line) {
+        String[] parts = line.split(",");
+        if (parts.length < 5) {
+            throw new IllegalArgumentException("malformed course line");
+        }
+        try {
+            return new Course.Builder(parts[0], parts[1])
+                    .credits(Integer.parseInt(parts[2]))
+                    .department(parts[3])
+                    .semester(Semester.valueOf(parts[4]))
+                    .timeSlots(parts.length > 6 ? TimeSlot.parseAll(parts[6]) : List.of())
+                    .build();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("course line due to invalid data");
+        }
+    }
+
+    // --- Instructor Methods ---
+    public boolean exportInstructors(List<Instructor> instructors) {
+        try {
+            Files.createDirectories(dataDirectory);
+            Path filePath = dataDirectory.resolve("instructors.csv");
+            List<String> lines = instructors.stream()
+                .map(i -> String.join(",",
+                    i.getId(),
+                    i.getFullName(),
+                    i.getEmail(),
+                    i.getDateOfBirth().format(CSV_DATE_FORMATTER),
+                    i.getEmployeeId(),
+                    i.getDepartment()))
+                .collect(Collectors.toList());
+            writeAtomically(filePath, lines);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Failed to export instructors: " + e.getMessage());
+            return false;
+        }
+    }
+
+    public void importInstructors(InstructorService instructorService) {
+        Path filePath = dataDirectory.resolve("instructors.csv");
+        if (!Files.exists(filePath)) return;
+
+        try (Stream<String> lines = Files.lines(filePath)) {
+            lines.forEach(line -> {
+                String[] parts = line.split(",");
+                if (parts.length < 6) {
+                    System.err.println("Skipping malformed instructor line: " + line);
+                    return;
+                }
+                try {
+                    LocalDate dob = LocalDate.parse(parts[3], CSV_DATE_FORMATTER);
+                    instructorService.addInstructor(new Instructor(parts[0], parts[1], parts[2], dob, parts[4], parts[5]));
+                } catch (DateTimeParseException e) {
+                    System.err.println("Skipping instructor line due to invalid date format: " + line);
+                }
+            });
+        } catch (IOException e) {
+            System.err.println("Failed to import instructors: " + e.getMessage());
+        }
     }
 
     // --- Enrollment Methods ---
     public void exportEnrollments(List<Student> students) {
         try {
-            Files.createDirectories(DATA_DIRECTORY);
-            Path filePath = DATA_DIRECTORY.resolve("enrollments.csv");
+            Files.createDirectories(dataDirectory);
+            Path filePath = dataDirectory.resolve("enrollments.csv");
             List<String> lines = students.stream()
                 .flatMap(student -> student.getEnrolledCourses().stream()
                     .map(enrollment -> {
@@ -133,15 +316,57 @@ public class ImportExportService {
                             grade);
                     }))
                 .collect(Collectors.toList());
-            Files.write(filePath, lines, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            writeAtomically(filePath, lines);
         } catch (IOException e) {
             System.err.println("Failed to export enrollments: " + e.getMessage());
         }
     }
     
+    /**
+     * Writes students.csv and enrollments.csv from a single snapshot, so the two
+     * files describe the same point in time even while grades are being assigned.
+     */
+    public boolean exportSnapshot(VersionedStore.Snapshot snapshot) {
+        List<StudentRecord> records = snapshot.students();
+        try {
+            Files.createDirectories(dataDirectory);
+            List<String> studentLines = records.stream()
+                .map(s -> String.join(",",
+                    s.fullName(),
+                    s.email(),
+                    s.dateOfBirth().format(CSV_DATE_FORMATTER),
+                    s.regNo()))
+                .collect(Collectors.toList());
+            List<String> enrollmentLines = records.stream()
+                .flatMap(s -> s.enrollments().stream()
+                    .map(e -> String.join(",",
+                        s.regNo(),
+                        e.courseCode(),
+                        (e.grade() == null) ? "NULL" : e.grade().name())))
+                .collect(Collectors.toList());
+            writeAtomically(dataDirectory.resolve("students.csv"), studentLines);
+            writeAtomically(dataDirectory.resolve("enrollments.csv"), enrollmentLines);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Failed to export snapshot: " + e.getMessage());
+            return false;
+        }
+    }
+
     public void importEnrollments(StudentService studentService, CourseService courseService, EnrollmentService enrollmentService) {
-        Path filePath = DATA_DIRECTORY.resolve("enrollments.csv");
+        importEnrollments(studentService, courseService, enrollmentService, new ArchiveCatalog());
+    }
+
+    /**
+     * Imports enrollments.csv, skipping rows that a mounted archive already holds
+     * because archiving stopped before the file was saved again
+     * (see {@link ArchiveCatalog#archivedAfter}).
+     */
+    public void importEnrollments(StudentService studentService, CourseService courseService,
+                                  EnrollmentService enrollmentService, ArchiveCatalog archives) {
+        Path filePath = dataDirectory.resolve("enrollments.csv");
         if (!Files.exists(filePath)) return;
+        Set<String> archived = archives.archivedAfter(filePath);
 
         try (Stream<String> lines = Files.lines(filePath)) {
             lines.forEach(line -> {
@@ -150,6 +375,10 @@ public class ImportExportService {
                      System.err.println("Skipping malformed enrollment line: " + line);
                     return; // a simple return works like 'continue' in a forEach lambda
                 }
+                if (archived.contains(parts[0] + "," + parts[1])) {
+                    System.err.println("Skipping enrollment already in an archive: " + line);
+                    return;
+                }
 
                 Optional<Student> studentOpt = studentService.findStudentByRegNo(parts[0]);
                 Optional<Course> courseOpt = courseService.findCourseByCode(parts[1]);
@@ -176,4 +405,23 @@ public class ImportExportService {
             System.err.println("Failed to import enrollments: " + e.getMessage());
         }
     }
+
+    /**
+     * Lazy alternative to {@link #importEnrollments}: indexes enrollments.csv
+     * and leaves each student's enrollments to be restored on first access.
+     *
+     * @return The loader, or null if there is no enrollments file or it cannot be read.
+     */
+    public LazyEnrollmentLoader indexEnrollments(StudentService studentService, CourseService courseService,
+                                                 EnrollmentService enrollmentService, ArchiveCatalog archives) {
+        Path filePath = dataDirectory.resolve("enrollments.csv");
+        if (!Files.exists(filePath)) return null;
+        try {
+            return LazyEnrollmentLoader.open(filePath, archives.archivedAfter(filePath),
+                    studentService, courseService, enrollmentService);
+        } catch (IOException e) {
+            System.err.println("Failed to import enrollments: " + e.getMessage());
+            return null;
+        }
+    }
 }
\ No newline at end of file
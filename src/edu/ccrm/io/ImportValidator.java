@@ -0,0 +1,269 @@
+package edu.ccrm.io;
+
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.TimeSlot;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Checks a directory of import files (instructors.csv, students.csv, courses.csv,
+ * enrollments.csv) without loading anything into the store.
+ *
+ * Each file is streamed in fixed-size chunks that are validated on all cores,
+ * with only a few chunks in memory at a time, so file size does not matter;
+ * only the registration numbers, course codes and instructor IDs are kept, for
+ * duplicate and reference checks. Errors are counted per category, with the
+ * first few examples of each kept for the report.
+ */
+public class ImportValidator {
+
+    private static final int CHUNK_LINES = 8192;
+    private static final int SAMPLES_PER_CATEGORY = 5;
+
+    /**
+     * One invalid row.
+     */
+    public record Issue(int lineNumber, String category, String line) { }
+
+    /**
+     * The aggregated result for one file.
+     */
+    public static final class FileReport {
+        private final String file;
+        private long rows;
+        private final Map<String, Long> counts = new LinkedHashMap<>();
+        private final List<Issue> samples = new ArrayList<>();
+
+        FileReport(String file) {
+            this.file = file;
+        }
+
+        void add(Issue issue) {
+            long seen = counts.merge(issue.category(), 1L, Long::sum);
+            if (seen <= SAMPLES_PER_CATEGORY) samples.add(issue);
+        }
+
+        public String getFile() { return file; }
+        public long getRows() { return rows; }
+        public long getErrorCount() { return counts.values().stream().mapToLong(Long::longValue).sum(); }
+        public Map<String, Long> getErrorCounts() { return counts; }
+        public List<Issue> getSamples() { return samples; }
+    }
+
+    // What one chunk found: its issues and the keys it declares, both in line order.
+    private record ChunkResult(List<Issue> issues, List<String> keys, List<Integer> keyLines) { }
+
+    private interface RowCheck {
+        /**
+         * @return The row's key (for duplicate/reference checks), or null; adds any problems to issues.
+         */
+        String check(int lineNumber, String line, String[] parts, List<Issue> issues);
+    }
+
+    private final int threads = Runtime.getRuntime().availableProcessors();
+    private final Set<String> studentKeys = new HashSet<>();
+    private final Set<String> courseKeys = new HashSet<>();
+    private final Set<String> instructorKeys = new HashSet<>();
+
+    /**
+     * Validates every import file present in the directory, in load order.
+     */
+    public List<FileReport> validate(Path directory) throws IOException {
+        List<FileReport> reports = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "import-validator");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            validateFile(pool, directory.resolve("instructors.csv"), instructorKeys, this::checkInstructor, reports);
+            validateFile(pool, directory.resolve("students.csv"), studentKeys, this::checkStudent, reports);
+            validateFile(pool, directory.resolve("courses.csv"), courseKeys, this::checkCourse, reports);
+            // Enrollment references are checked after all keys are known.
+            validateFile(pool, directory.resolve("enrollments.csv"), null, this::checkEnrollment, reports);
+        } finally {
+            pool.shutdownNow();
+        }
+        return reports;
+    }
+
+    private void validateFile(ExecutorService pool, Path file, Set<String> keys, RowCheck check,
+                              List<FileReport> reports) throws IOException {
+        if (!Files.exists(file)) return;
+        FileReport report = new FileReport(file.getFileName().toString());
+        Deque<Future<ChunkResult>> pending = new ArrayDeque<>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            List<String> chunk = new ArrayList<>(CHUNK_LINES);
+            int firstLine = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                chunk.add(line);
+                report.rows++;
+                if (chunk.size() == CHUNK_LINES) {
+                    submit(pool, pending, firstLine, chunk, check);
+                    firstLine += chunk.size();
+                    chunk = new ArrayList<>(CHUNK_LINES);
+                    while (pending.size() >= threads * 2) merge(pending.removeFirst(), keys, report);
+                }
+            }
+            if (!chunk.isEmpty()) submit(pool, pending, firstLine, chunk, check);
+            while (!pending.isEmpty()) merge(pending.removeFirst(), keys, report);
+        }
+        reports.add(report);
+    }
+
+    private static void submit(ExecutorService pool, Deque<Future<ChunkResult>> pending, int firstLine,
+                               List<String> chunk, RowCheck check) {
+        pending.add(pool.submit(() -> {
+            List<Issue> issues = new ArrayList<>();
+            List<String> keys = new ArrayList<>();
+            List<Integer> keyLines = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                String line = chunk.get(i);
+                int lineNumber = firstLine + i;
+                if (line.isBlank()) continue;
+                String key = check.check(lineNumber, line, line.split(","), issues);
+                if (key != null) {
+                    keys.add(key);
+                    keyLines.add(lineNumber);
+                }
+            }
+            return new ChunkResult(issues, keys, keyLines);
+        }));
+    }
+
+    // Chunks are merged in file order, so "duplicate" always points at the later row.
+    private static void merge(Future<ChunkResult> future, Set<String> keys, FileReport report) throws IOException {
+        ChunkResult result;
+        try {
+            result = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Validation interrupted.");
+        } catch (ExecutionException e) {
+            throw new IOException("Validation failed.", e.getCause());
+        }
+        result.issues().forEach(report::add);
+        if (keys == null) return;
+        for (int i = 0; i < result.keys().size(); i++) {
+            if (!keys.add(result.keys().get(i))) {
+                report.add(new Issue(result.keyLines().get(i), "duplicate key", result.keys().get(i)));
+            }
+        }
+    }
+
+    private String checkInstructor(int lineNumber, String line, String[] parts, List<Issue> issues) {
+        if (parts.length != 6) return issue(issues, lineNumber, "expected 6 columns", line);
+        if (hasBlank(parts)) return issue(issues, lineNumber, "blank field", line);
+        if (!isDate(parts[3])) issue(issues, lineNumber, "invalid date (dd-MM-yyyy)", line);
+        return parts[0];
+    }
+
+    private String checkStudent(int lineNumber, String line, String[] parts, List<Issue> issues) {
+        if (parts.length != 4) return issue(issues, lineNumber, "expected 4 columns", line);
+        if (hasBlank(parts)) return issue(issues, lineNumber, "blank field", line);
+        if (!isDate(parts[2])) issue(issues, lineNumber, "invalid date (dd-MM-yyyy)", line);
+        return parts[3];
+    }
+
+    private String checkCourse(int lineNumber, String line, String[] parts, List<Issue> issues) {
+        if (parts.length < 5 || parts.length > 7) return issue(issues, lineNumber, "expected 5 to 7 columns", line);
+        for (int i = 0; i < 5; i++) {
+            if (parts[i].isBlank()) return issue(issues, lineNumber, "blank field", line);
+        }
+        try {
+            if (Integer.parseInt(parts[2]) <= 0) issue(issues, lineNumber, "credits not positive", line);
+        } catch (NumberFormatException e) {
+            issue(issues, lineNumber, "credits not a number", line);
+        }
+        if (!isEnum(Semester.class, parts[4])) issue(issues, lineNumber, "unknown semester", line);
+        // instructors.csv has been read in full by now, so its IDs can be checked here.
+        if (parts.length > 5 && !parts[5].isBlank() && !instructorKeys.contains(parts[5])) {
+            issue(issues, lineNumber, "unknown instructor", line);
+        }
+        if (parts.length > 6) {
+            try {
+                TimeSlot.parseAll(parts[6]);
+            } catch (IllegalArgumentException e) {
+                issue(issues, lineNumber, "invalid time slot", line);
+            }
+        }
+        return parts[0];
+    }
+
+    private String checkEnrollment(int lineNumber, String line, String[] parts, List<Issue> issues) {
+        if (parts.length != 3) return issue(issues, lineNumber, "expected 3 columns", line);
+        if (!"NULL".equalsIgnoreCase(parts[2]) && !isEnum(Grade.class, parts[2])) {
+            issue(issues, lineNumber, "unknown grade", line);
+        }
+        if (!studentKeys.contains(parts[0])) issue(issues, lineNumber, "unknown student", line);
+        if (!courseKeys.contains(parts[1])) issue(issues, lineNumber, "unknown course", line);
+        return null;
+    }
+
+    private static String issue(List<Issue> issues, int lineNumber, String category, String line) {
+        issues.add(new Issue(lineNumber, category, line));
+        return null;
+    }
+
+    private static boolean hasBlank(String[] parts) {
+        for (String part : parts) {
+            if (part.isBlank()) return true;
+        }
+        return false;
+    }
+
+    private static boolean isDate(String text) {
+        try {
+            LocalDate.parse(text, ImportExportService.CSV_DATE_FORMATTER);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static <E extends Enum<E>> boolean isEnum(Class<E> type, String name) {
+        try {
+            Enum.valueOf(type, name);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Prints error counts per file and category with a few example rows each.
+     */
+    public static void printReport(List<FileReport> reports) {
+        StringBuilder out = new StringBuilder();
+        if (reports.isEmpty()) out.append("No import files found.\n");
+        for (FileReport report : reports) {
+            out.append(String.format("%s: %d rows, %d errors%n", report.getFile(), report.getRows(), report.getErrorCount()));
+            report.getErrorCounts().forEach((category, count) -> {
+                out.append(String.format("  %-28s %d%n", category, count));
+                report.getSamples().stream()
+                        .filter(issue -> issue.category().equals(category))
+                        .forEach(issue -> out.append(String.format("      line %d: %s%n", issue.lineNumber(), issue.line())));
+            });
+        }
+        System.out.print(out);
+    }
+}
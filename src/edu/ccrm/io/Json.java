@@ -0,0 +1,125 @@
+package edu.ccrm.io;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimal helpers for writing and reading JSON text without an external library.
+ */
+public final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Returns the value as a quoted JSON string literal, or {@code null}.
+     */
+    public static String quote(String value) {
+        if (value == null) return "null";
+        StringBuilder sb = new StringBuilder(value.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+                }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Parses a flat JSON object such as {"regNo":"24BCE10001","credits":3}.
+     * Values are returned as their string form; nested objects and arrays are not supported.
+     *
+     * @throws IllegalArgumentException if the text is not a flat JSON object.
+     */
+    public static Map<String, String> parseObject(String text) {
+        Map<String, String> result = new LinkedHashMap<>();
+        int[] pos = { skipWhitespace(text, 0) };
+        expect(text, pos, '{');
+        if (peek(text, pos) == '}') {
+            pos[0]++;
+            return result;
+        }
+        while (true) {
+            String key = readString(text, pos);
+            expect(text, pos, ':');
+            String value = (peek(text, pos) == '"') ? readString(text, pos) : readLiteral(text, pos);
+            result.put(key, value);
+            char next = peek(text, pos);
+            pos[0]++;
+            if (next == '}') return result;
+            if (next != ',') throw new IllegalArgumentException("Malformed JSON object at position " + (pos[0] - 1));
+        }
+    }
+
+    private static String readString(String text, int[] pos) {
+        expect(text, pos, '"');
+        StringBuilder sb = new StringBuilder();
+        int i = pos[0];
+        while (i < text.length()) {
+            char c = text.charAt(i++);
+            if (c == '"') {
+                pos[0] = skipWhitespace(text, i);
+                return sb.toString();
+            }
+            if (c == '\\' && i < text.length()) {
+                char e = text.charAt(i++);
+                switch (e) {
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'u' -> {
+                        if (i + 4 > text.length()) throw new IllegalArgumentException("Malformed unicode escape.");
+                        sb.append((char) Integer.parseInt(text.substring(i, i + 4), 16));
+                        i += 4;
+                    }
+                    default -> sb.append(e);
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        throw new IllegalArgumentException("Unterminated JSON string.");
+    }
+
+    // Numbers, true, false; null is returned as a Java null.
+    private static String readLiteral(String text, int[] pos) {
+        int start = pos[0];
+        int i = start;
+        while (i < text.length() && ",}".indexOf(text.charAt(i)) < 0 && !Character.isWhitespace(text.charAt(i))) i++;
+        if (i == start) throw new IllegalArgumentException("Missing JSON value at position " + start);
+        String literal = text.substring(start, i);
+        if (literal.startsWith("{") || literal.startsWith("[")) {
+            throw new IllegalArgumentException("Nested JSON values are not supported.");
+        }
+        pos[0] = skipWhitespace(text, i);
+        return literal.equals("null") ? null : literal;
+    }
+
+    private static void expect(String text, int[] pos, char c) {
+        if (peek(text, pos) != c) throw new IllegalArgumentException("Expected '" + c + "' at position " + pos[0]);
+        pos[0] = skipWhitespace(text, pos[0] + 1);
+    }
+
+    private static char peek(String text, int[] pos) {
+        pos[0] = skipWhitespace(text, pos[0]);
+        if (pos[0] >= text.length()) throw new IllegalArgumentException("Unexpected end of JSON.");
+        return text.charAt(pos[0]);
+    }
+
+    private static int skipWhitespace(String text, int i) {
+        while (i < text.length() && Character.isWhitespace(text.charAt(i))) i++;
+        return i;
+    }
+}
\ No newline at end of file
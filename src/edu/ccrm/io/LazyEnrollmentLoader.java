@@ -0,0 +1,221 @@
+package edu.ccrm.io;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Student;
+import edu.ccrm.service.CourseService;
+import edu.ccrm.service.EnrollmentService;
+import edu.ccrm.service.StudentService;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Loads enrollments.csv on demand instead of at startup.
+ *
+ * Opening the loader reads the file into memory once and records, per
+ * registration number, which byte ranges hold that student's lines; nothing is
+ * parsed or validated yet. Each student's enrollments are then restored the
+ * first time anything reads them (see {@link Student#ensureEnrollmentsLoaded}),
+ * and an optional background thread restores the rest while the application is
+ * already in use. Work that needs every student's enrollments calls
+ * {@link #loadAll()} first. Because the file's bytes are kept, later edits to
+ * enrollments.csv cannot affect students that are still pending.
+ */
+public class LazyEnrollmentLoader {
+
+    // Byte ranges [start, end) of one student's lines; consecutive lines share a range.
+    private static final class Ranges {
+        private int[] bounds = new int[2];
+        private int size;
+
+        void add(int start, int end) {
+            if (size > 0 && bounds[size - 1] == start) {
+                bounds[size - 1] = end;
+                return;
+            }
+            if (size == bounds.length) bounds = Arrays.copyOf(bounds, size * 2);
+            bounds[size++] = start;
+            bounds[size++] = end;
+        }
+    }
+
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final Set<String> archived;
+    private final Set<Student> pending = ConcurrentHashMap.newKeySet();
+    private volatile byte[] content;
+    private volatile Map<String, Ranges> rangesByRegNo;
+    private volatile boolean complete;
+
+    private LazyEnrollmentLoader(byte[] content, Set<String> archived, CourseService courseService,
+                                 EnrollmentService enrollmentService) {
+        this.content = content;
+        this.archived = archived;
+        this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+    }
+
+    /**
+     * Indexes the file and attaches a loader to every student it mentions.
+     * Lines for unknown students are reported straight away, as a full import would.
+     *
+     * @param archived "regNo,courseCode" keys of lines to skip because an archive already holds them.
+     */
+    public static LazyEnrollmentLoader open(Path file, Set<String> archived, StudentService studentService,
+                                            CourseService courseService, EnrollmentService enrollmentService) throws IOException {
+        LazyEnrollmentLoader loader = new LazyEnrollmentLoader(Files.readAllBytes(file), archived, courseService,
+                enrollmentService);
+        loader.rangesByRegNo = loader.index();
+        for (Map.Entry<String, Ranges> entry : loader.rangesByRegNo.entrySet()) {
+            Optional<Student> student = studentService.findStudentByRegNo(entry.getKey());
+            if (student.isPresent()) {
+                loader.pending.add(student.get());
+                student.get().setEnrollmentLoader(loader::materialize);
+            } else {
+                loader.linesOf(entry.getValue()).forEach(line ->
+                        System.err.println("Skipping enrollment, student or course not found for line: " + line));
+            }
+        }
+        if (loader.pending.isEmpty()) loader.release();
+        return loader;
+    }
+
+    // One pass over the bytes; a regNo string is only created when it differs from the previous line's.
+    private Map<String, Ranges> index() {
+        byte[] bytes = content;
+        Map<String, Ranges> ranges = new HashMap<>();
+        Ranges current = null;
+        int previousStart = -1;
+        int previousLength = 0;
+        int lineStart = 0;
+        while (lineStart < bytes.length) {
+            int lineEnd = lineStart;
+            int comma = -1;
+            while (lineEnd < bytes.length && bytes[lineEnd] != '\n') {
+                if (comma < 0 && bytes[lineEnd] == ',') comma = lineEnd;
+                lineEnd++;
+            }
+            int next = Math.min(lineEnd + 1, bytes.length);
+            int keyLength = (comma < 0 ? lineEnd : comma) - lineStart;
+            if (keyLength > 0) {
+                boolean sameStudent = current != null && Arrays.equals(bytes, lineStart, lineStart + keyLength,
+                        bytes, previousStart, previousStart + previousLength);
+                if (!sameStudent) {
+                    String regNo = new String(bytes, lineStart, keyLength, StandardCharsets.UTF_8).trim();
+                    current = ranges.computeIfAbsent(regNo, k -> new Ranges());
+                    previousStart = lineStart;
+                    previousLength = keyLength;
+                }
+                current.add(lineStart, next);
+            }
+            lineStart = next;
+        }
+        return ranges;
+    }
+
+    private List<String> linesOf(Ranges ranges) {
+        byte[] bytes = content;
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < ranges.size; i += 2) {
+            String text = new String(bytes, ranges.bounds[i], ranges.bounds[i + 1] - ranges.bounds[i], StandardCharsets.UTF_8);
+            for (String line : text.split("\n")) {
+                if (!line.isBlank()) lines.add(line.strip());
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Restores one student's enrollments; runs inside {@link Student#ensureEnrollmentsLoaded}.
+     */
+    private void materialize(Student student) {
+        try {
+            Map<String, Ranges> ranges = rangesByRegNo;
+            Ranges own = ranges == null ? null : ranges.get(student.getRegNo());
+            if (own == null) return;
+            Map<Course, Grade> enrollments = new LinkedHashMap<>();
+            for (String line : linesOf(own)) {
+                String[] parts = line.split(",");
+                if (parts.length < 3) {
+                    System.err.println("Skipping malformed enrollment line: " + line);
+                    continue;
+                }
+                if (archived.contains(parts[0] + "," + parts[1])) {
+                    System.err.println("Skipping enrollment already in an archive: " + line);
+                    continue;
+                }
+                Optional<Course> course = courseService.findCourseByCode(parts[1]);
+                if (course.isEmpty()) {
+                    System.err.println("Skipping enrollment, student or course not found for line: " + line);
+                    continue;
+                }
+                try {
+                    enrollments.put(course.get(), "NULL".equalsIgnoreCase(parts[2]) ? null : Grade.valueOf(parts[2]));
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Could not process enrollment line: " + line + " | Reason: " + e.getMessage());
+                }
+            }
+            enrollmentService.restoreEnrollments(student, enrollments);
+        } catch (RuntimeException e) {
+            System.err.println("Could not load enrollments for " + student.getRegNo() + ": " + e.getMessage());
+        } finally {
+            pending.remove(student);
+        }
+    }
+
+    /**
+     * @return How many students' enrollments have not been read yet.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Restores every pending student in parallel and returns once all are loaded.
+     */
+    public void loadAll() {
+        if (complete) return;
+        List.copyOf(pending).parallelStream().forEach(Student::ensureEnrollmentsLoaded);
+        release();
+    }
+
+    /**
+     * Starts a low-priority daemon thread that restores pending students one at a
+     * time, so they are ready before anyone asks for them.
+     */
+    public void startWarmUp() {
+        if (complete) return;
+        Thread warmUp = new Thread(() -> {
+            for (Student student : List.copyOf(pending)) {
+                student.ensureEnrollmentsLoaded();
+            }
+            release();
+        }, "enrollment-warmup");
+        warmUp.setDaemon(true);
+        warmUp.setPriority(Thread.MIN_PRIORITY);
+        warmUp.start();
+    }
+
+    // Every loader has run (each one holds its student's lock until done), so the bytes can go.
+    private synchronized void release() {
+        if (complete) return;
+        complete = true;
+        content = null;
+        rangesByRegNo = null;
+    }
+}
@@ -0,0 +1,226 @@
+package edu.ccrm.io;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.domain.TimeSlot;
+import edu.ccrm.service.CourseService;
+import edu.ccrm.service.EnrollmentService;
+import edu.ccrm.service.StudentService;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * The replica side of log shipping: tails a {@link ReplicationLog} written by
+ * another process and replays each change through this process's own services,
+ * so the replica's store follows the writer's a few milliseconds behind.
+ *
+ * Every change is applied as "make it so" (add replaces, enroll skips existing
+ * enrollments, unenroll skips missing ones), so replaying a change the replica
+ * already has is harmless. An archived change mounts the writer's new archive
+ * file before the unenrollments that follow it remove those enrollments from
+ * the live store. Every log starts with a header naming the writer's run; when
+ * it changes, the writer has restarted and the follower starts again from the
+ * beginning of the new log.
+ */
+public class ReplicaFollower implements AutoCloseable {
+
+    private static final long POLL_MILLIS = 50;
+
+    private final Path logFile;
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final ArchiveCatalog archives;
+    private final Thread thread;
+    private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+    private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+
+    private volatile long appliedSequence;
+    private volatile long skipped;
+    private volatile boolean running = true;
+    private long position;
+    private String run; // header of the log being followed
+
+    public ReplicaFollower(Path logFile, StudentService studentService, CourseService courseService,
+                           EnrollmentService enrollmentService, ArchiveCatalog archives) {
+        this.logFile = logFile;
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+        this.archives = archives;
+        this.thread = new Thread(this::followLoop, "replica-follower");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * @return The sequence number of the last change applied from the writer's log.
+     */
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    public long getSkipped() {
+        return skipped;
+    }
+
+    private void followLoop() {
+        while (running) {
+            try {
+                if (Files.exists(logFile)) pollOnce();
+                Thread.sleep(POLL_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                System.err.println("[replica] Cannot read " + logFile + ": " + e.getMessage());
+                try {
+                    Thread.sleep(POLL_MILLIS * 20);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies every complete line appended since the last poll.
+     */
+    void pollOnce() throws IOException {
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            String header = readHeader(channel);
+            if (header == null) return; // the writer is still creating the log
+            if (!header.equals(run)) {
+                if (run != null) System.out.println("[replica] Writer restarted; following the new log from the start.");
+                run = header;
+                position = 0;
+                partialLine.reset();
+            }
+            channel.position(position);
+            int read;
+            while ((read = channel.read(buffer.clear())) > 0) {
+                position += read;
+                byte[] bytes = buffer.array();
+                int lineStart = 0;
+                for (int i = 0; i < read; i++) {
+                    if (bytes[i] == '\n') {
+                        partialLine.write(bytes, lineStart, i - lineStart);
+                        apply(partialLine.toString(StandardCharsets.UTF_8));
+                        partialLine.reset();
+                        lineStart = i + 1;
+                    }
+                }
+                partialLine.write(bytes, lineStart, read - lineStart); // rest of a line still being written
+            }
+        }
+    }
+
+    // The log's first line, or null until it is complete.
+    private String readHeader(FileChannel channel) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(256);
+        int read = channel.read(head, 0);
+        for (int i = 0; i < read; i++) {
+            if (head.get(i) == '\n') return new String(head.array(), 0, i, StandardCharsets.UTF_8);
+        }
+        return read == head.capacity() ? new String(head.array(), StandardCharsets.UTF_8) : null;
+    }
+
+    private void apply(String line) {
+        if (line.isBlank()) return;
+        Map<String, String> change;
+        try {
+            change = Json.parseObject(line);
+            switch (change.get("op")) {
+                case "log-started" -> { }
+                case "student-added" -> studentService.addStudent(toStudent(change));
+                case "student-updated" -> updateStudent(change);
+                case "course-added" -> courseService.addCourse(toCourse(change));
+                case "course-updated" -> courseService.updateCourse(toCourse(change));
+                case "enrolled" -> enroll(change);
+                case "unenrolled" -> {
+                    Student student = student(change.get("regNo"));
+                    Course course = course(change.get("courseCode"));
+                    if (isEnrolled(student, course)) enrollmentService.unenrollStudent(student, course);
+                }
+                case "archived" -> archives.mount(ArchiveCatalog.DEFAULT_ARCHIVE_DIR.resolve(change.get("file")));
+                case "graded" -> {
+                    Grade grade = change.get("grade") == null ? null : Grade.valueOf(change.get("grade"));
+                    enrollmentService.assignGrade(student(change.get("regNo")), course(change.get("courseCode")), grade);
+                }
+                default -> throw new IllegalArgumentException("Unknown op '" + change.get("op") + "'.");
+            }
+            appliedSequence = Long.parseLong(change.get("seq"));
+        } catch (Exception e) {
+            skipped++;
+            System.err.println("[replica] Skipping change: " + line + " | Reason: " + e.getMessage());
+        }
+    }
+
+    private void updateStudent(Map<String, String> change) {
+        Student student = student(change.get("regNo"));
+        Student updated = toStudent(change);
+        synchronized (student) {
+            student.setFullName(updated.getFullName());
+            student.setEmail(updated.getEmail());
+            student.setDateOfBirth(updated.getDateOfBirth());
+            student.setActive(updated.isActive());
+        }
+        studentService.updateStudent(student);
+    }
+
+    private void enroll(Map<String, String> change) throws Exception {
+        Student student = student(change.get("regNo"));
+        Course course = course(change.get("courseCode"));
+        if (!isEnrolled(student, course)) enrollmentService.enrollStudent(student, course);
+    }
+
+    private static boolean isEnrolled(Student student, Course course) {
+        return student.getEnrolledCourses().stream().anyMatch(e -> e.getCourse().getCode().equals(course.getCode()));
+    }
+
+    private static Student toStudent(Map<String, String> change) {
+        Student student = new Student(change.get("fullName"), change.get("email"),
+                LocalDate.parse(change.get("dateOfBirth")), change.get("regNo"));
+        student.setActive(Boolean.parseBoolean(change.get("active")));
+        return student;
+    }
+
+    private static Course toCourse(Map<String, String> change) {
+        return new Course.Builder(change.get("code"), change.get("title"))
+                .credits(Integer.parseInt(change.get("credits")))
+                .department(change.get("department"))
+                .semester(change.get("semester") == null ? null : Semester.valueOf(change.get("semester")))
+                .timeSlots(TimeSlot.parseAll(change.get("timeSlots")))
+                .build();
+    }
+
+    private Student student(String regNo) {
+        Optional<Student> student = studentService.findStudentByRegNo(regNo);
+        return student.orElseThrow(() -> new NoSuchElementException("Unknown student " + regNo + "."));
+    }
+
+    private Course course(String code) {
+        return courseService.findCourseByCode(code)
+                .orElseThrow(() -> new NoSuchElementException("Unknown course " + code + "."));
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+    }
+}
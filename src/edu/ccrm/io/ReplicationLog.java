@@ -0,0 +1,160 @@
+package edu.ccrm.io;
+
+import edu.ccrm.config.MutationListener;
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.domain.TimeSlot;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * The writer side of log shipping: appends every committed change as one JSON
+ * line to a shared file that {@link ReplicaFollower}s in other processes tail.
+ *
+ * Each time the writer starts it replaces the log with a new file whose first
+ * line names the run, so followers can tell a new log from the one they were
+ * reading however far it has grown. The log describes changes made
+ * after the data files were loaded, so a replica that loads the same data files
+ * and replays the log reaches the writer's state. The log is meant to consume an
+ * {@link edu.ccrm.config.EventBus}: lines are buffered and flushed once per batch
+ * of events, off the services' threads.
+ *
+ * <pre>
+ * {"seq":0,"op":"log-started","run":"2f6c1e0a-..."}
+ * {"seq":1,"op":"student-added","regNo":"24BCE10001","fullName":"...","email":"...","dateOfBirth":"2006-09-08","active":true}
+ * {"seq":2,"op":"enrolled","regNo":"24BCE10001","courseCode":"CSE2006"}
+ * {"seq":3,"op":"graded","regNo":"24BCE10001","courseCode":"CSE2006","grade":"A"}
+ * </pre>
+ * Other ops: student-updated, course-added, course-updated, unenrolled, and
+ * archived, which names a new file in the archive directory (its unenrolled
+ * changes follow).
+ */
+public class ReplicationLog implements MutationListener, AutoCloseable {
+
+    public static final Path DEFAULT_LOG = Paths.get("data", "replication.log");
+
+    private final Path file;
+    private final BufferedWriter writer;
+    private long sequence;
+    private boolean failed;
+
+    private ReplicationLog(Path file, BufferedWriter writer) {
+        this.file = file;
+        this.writer = writer;
+    }
+
+    /**
+     * Starts a new log holding only the run header, replacing any log from a
+     * previous run. The new file is renamed into place, so a follower still
+     * reading the old file never sees the new one's bytes at its old position.
+     */
+    public static ReplicationLog create(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        String header = "{\"seq\":0,\"op\":\"log-started\",\"run\":" + Json.quote(UUID.randomUUID().toString()) + "}\n";
+        ImportExportService.writeAtomically(file, header.getBytes(StandardCharsets.UTF_8));
+        return new ReplicationLog(file, Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND, StandardOpenOption.WRITE));
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void studentAdded(Student student) {
+        append("student-added", studentFields(student));
+    }
+
+    @Override
+    public void studentUpdated(Student student) {
+        append("student-updated", studentFields(student));
+    }
+
+    @Override
+    public void courseAdded(Course course) {
+        append("course-added", courseFields(course));
+    }
+
+    @Override
+    public void courseUpdated(Course course) {
+        append("course-updated", courseFields(course));
+    }
+
+    @Override
+    public void enrolled(Student student, Course course) {
+        append("enrolled", ",\"regNo\":" + Json.quote(student.getRegNo()) + ",\"courseCode\":" + Json.quote(course.getCode()));
+    }
+
+    @Override
+    public void unenrolled(Student student, Course course) {
+        append("unenrolled", ",\"regNo\":" + Json.quote(student.getRegNo()) + ",\"courseCode\":" + Json.quote(course.getCode()));
+    }
+
+    @Override
+    public void graded(Student student, Course course, Grade grade) {
+        append("graded", ",\"regNo\":" + Json.quote(student.getRegNo()) + ",\"courseCode\":" + Json.quote(course.getCode())
+                + ",\"grade\":" + Json.quote(grade == null ? null : grade.name()));
+    }
+
+    @Override
+    public void semesterArchived(Path archiveFile) {
+        append("archived", ",\"file\":" + Json.quote(archiveFile.getFileName().toString()));
+    }
+
+    private static String studentFields(Student s) {
+        return ",\"regNo\":" + Json.quote(s.getRegNo())
+                + ",\"fullName\":" + Json.quote(s.getFullName())
+                + ",\"email\":" + Json.quote(s.getEmail())
+                + ",\"dateOfBirth\":" + Json.quote(String.valueOf(s.getDateOfBirth()))
+                + ",\"active\":" + s.isActive();
+    }
+
+    private static String courseFields(Course c) {
+        Semester semester = c.getSemester();
+        return ",\"code\":" + Json.quote(c.getCode())
+                + ",\"title\":" + Json.quote(c.getTitle())
+                + ",\"credits\":" + c.getCredits()
+                + ",\"department\":" + Json.quote(c.getDepartment())
+                + ",\"semester\":" + Json.quote(semester == null ? null : semester.name())
+                + ",\"timeSlots\":" + Json.quote(TimeSlot.formatAll(c.getTimeSlots()));
+    }
+
+    private synchronized void append(String op, String fields) {
+        if (failed) return;
+        try {
+            writer.write("{\"seq\":" + (++sequence) + ",\"op\":\"" + op + "\"" + fields + "}");
+            writer.newLine();
+        } catch (IOException e) {
+            disable(e);
+        }
+    }
+
+    @Override
+    public synchronized void endOfBatch() {
+        if (failed) return;
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            disable(e);
+        }
+    }
+
+    // Replicas fall behind rather than the writer failing its own requests.
+    private void disable(IOException e) {
+        failed = true;
+        System.err.println("Replication log disabled after write failure: " + e.getMessage());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
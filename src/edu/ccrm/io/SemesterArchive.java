@@ -0,0 +1,232 @@
+package edu.ccrm.io;
+
+import edu.ccrm.domain.EnrollmentRecord;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.StudentRecord;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A read-only archive of one past semester, served straight from a memory-mapped
+ * file so archived students and grades cost no heap until they are queried.
+ *
+ * File layout (big-endian):
+ * <pre>
+ * header   : magic "CCRA" | int formatVersion | int studentCount | int labelLength | label bytes
+ * index    : studentCount x (32-byte zero-padded regNo | long recordOffset), sorted by regNo
+ * records  : str fullName | str email | long dobEpochDay | byte active | int enrollmentCount
+ *            then per enrollment: str code | str title | int credits | byte gradeOrdinal (-1 = none)
+ *                                 | long enrolledEpochSecond (UTC)
+ * str      : unsigned short length | UTF-8 bytes
+ * </pre>
+ * Lookups binary-search the mapped index. A single archive is limited to 2 GB.
+ */
+public class SemesterArchive implements AutoCloseable {
+
+    public static final String FILE_EXTENSION = ".ccra";
+
+    private static final int MAGIC = 0x43435241; // "CCRA"
+    private static final int FORMAT_VERSION = 1;
+    private static final int KEY_BYTES = 32;
+    private static final int INDEX_ENTRY_BYTES = KEY_BYTES + Long.BYTES;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final String label;
+    private final int studentCount;
+    private final int indexStart;
+
+    private SemesterArchive(Path file, FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Not a CCRM semester archive: " + file);
+        }
+        this.studentCount = buffer.getInt(8);
+        int labelLength = buffer.getInt(12);
+        byte[] labelBytes = new byte[labelLength];
+        buffer.get(16, labelBytes);
+        this.label = new String(labelBytes, StandardCharsets.UTF_8);
+        this.indexStart = 16 + labelLength;
+    }
+
+    /**
+     * Maps an existing archive file read-only.
+     */
+    public static SemesterArchive open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) throw new IOException("Archive larger than 2 GB: " + file);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new SemesterArchive(file, channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the given records as a new archive, replacing the file atomically.
+     */
+    public static void write(Path file, String label, List<StudentRecord> records) throws IOException {
+        List<StudentRecord> sorted = new ArrayList<>(records);
+        sorted.sort(Comparator.comparing(StudentRecord::regNo));
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream bodyOut = new DataOutputStream(body);
+        long[] offsets = new long[sorted.size()];
+        byte[] labelBytes = label.getBytes(StandardCharsets.UTF_8);
+        long recordsStart = 16L + labelBytes.length + (long) sorted.size() * INDEX_ENTRY_BYTES;
+
+        for (int i = 0; i < sorted.size(); i++) {
+            StudentRecord s = sorted.get(i);
+            offsets[i] = recordsStart + body.size();
+            writeString(bodyOut, s.fullName());
+            writeString(bodyOut, s.email());
+            bodyOut.writeLong(s.dateOfBirth().toEpochDay());
+            bodyOut.writeByte(s.active() ? 1 : 0);
+            bodyOut.writeInt(s.enrollments().size());
+            for (EnrollmentRecord e : s.enrollments()) {
+                writeString(bodyOut, e.courseCode());
+                writeString(bodyOut, e.courseTitle());
+                bodyOut.writeInt(e.credits());
+                bodyOut.writeByte(e.grade() == null ? -1 : e.grade().ordinal());
+                bodyOut.writeLong(e.enrollmentDate().toEpochSecond(ZoneOffset.UTC));
+            }
+        }
+        bodyOut.flush();
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(sorted.size());
+            out.writeInt(labelBytes.length);
+            out.write(labelBytes);
+            for (int i = 0; i < sorted.size(); i++) {
+                byte[] key = sorted.get(i).regNo().getBytes(StandardCharsets.US_ASCII);
+                if (key.length > KEY_BYTES) throw new IOException("Registration number too long: " + sorted.get(i).regNo());
+                out.write(key);
+                out.write(new byte[KEY_BYTES - key.length]);
+                out.writeLong(offsets[i]);
+            }
+            body.writeTo(out);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int size() {
+        return studentCount;
+    }
+
+    /**
+     * Finds a student's archived record by binary search over the mapped index.
+     */
+    public Optional<StudentRecord> find(String regNo) {
+        byte[] key = regNo.getBytes(StandardCharsets.US_ASCII);
+        if (key.length > KEY_BYTES) return Optional.empty();
+        int low = 0;
+        int high = studentCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = compareKey(indexStart + mid * INDEX_ENTRY_BYTES, key);
+            if (cmp < 0) low = mid + 1;
+            else if (cmp > 0) high = mid - 1;
+            else return Optional.of(readRecord(regNo, buffer.getLong(indexStart + mid * INDEX_ENTRY_BYTES + KEY_BYTES)));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Reads every archived record, in registration number order.
+     */
+    public List<StudentRecord> readAll() {
+        List<StudentRecord> records = new ArrayList<>(studentCount);
+        byte[] key = new byte[KEY_BYTES];
+        for (int i = 0; i < studentCount; i++) {
+            int position = indexStart + i * INDEX_ENTRY_BYTES;
+            buffer.get(position, key);
+            int length = 0;
+            while (length < KEY_BYTES && key[length] != 0) length++;
+            String regNo = new String(key, 0, length, StandardCharsets.US_ASCII);
+            records.add(readRecord(regNo, buffer.getLong(position + KEY_BYTES)));
+        }
+        return records;
+    }
+
+    private int compareKey(int position, byte[] key) {
+        for (int i = 0; i < KEY_BYTES; i++) {
+            int stored = buffer.get(position + i) & 0xFF;
+            int wanted = i < key.length ? key[i] & 0xFF : 0;
+            if (stored != wanted) return Integer.compare(stored, wanted);
+        }
+        return 0;
+    }
+
+    private StudentRecord readRecord(String regNo, long offset) {
+        ByteBuffer in = buffer.duplicate();
+        in.position((int) offset);
+        String fullName = readString(in);
+        String email = readString(in);
+        LocalDate dob = LocalDate.ofEpochDay(in.getLong());
+        boolean active = in.get() == 1;
+        int count = in.getInt();
+        Grade[] grades = Grade.values();
+        List<EnrollmentRecord> enrollments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String code = readString(in);
+            String title = readString(in);
+            int credits = in.getInt();
+            byte grade = in.get();
+            LocalDateTime enrolledOn = LocalDateTime.ofEpochSecond(in.getLong(), 0, ZoneOffset.UTC);
+            enrollments.add(new EnrollmentRecord(code, title, credits, grade < 0 ? null : grades[grade], enrolledOn));
+        }
+        return new StudentRecord(regNo, fullName, email, dob, active, enrollments);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) throw new IOException("Field too long for archive.");
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getShort() & 0xFFFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,402 @@
+package edu.ccrm.io;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Student;
+import edu.ccrm.service.CourseService;
+import edu.ccrm.service.EnrollmentService;
+import edu.ccrm.service.StudentService;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Applies a continuous feed of registrar records through the services while
+ * the application keeps running.
+ *
+ * Each line of the feed is one record, tagged with its kind and otherwise in
+ * the data file's CSV layout:
+ * <pre>
+ * student,Divya Mishra,divya@example.com,08-09-2006,24BCE10001
+ * course,CSE2006,Programming in Java,3,SCOPE,FALL
+ * enrollment,24BCE10001,CSE2006,A
+ * </pre>
+ * A reader thread parses lines and hands them to a pool of workers through
+ * bounded queues; when the workers fall behind, the reader blocks, which in turn
+ * stops reading the pipe or stdin and so slows the writer down instead of
+ * buffering without limit. Student and enrollment records are routed by
+ * registration number, so one student's records are always applied in feed
+ * order by the same worker. Course records are applied by the reader itself
+ * before any later line is queued, because any enrollment after them may refer
+ * to them. Workers take records in batches of up to {@link #BATCH_SIZE}.
+ *
+ * Records are applied as "make it so": a known student or course is updated in
+ * place, and an enrollment that already exists only has its grade set. Invalid
+ * records are reported and counted, never fatal.
+ */
+public class StreamIngestor implements AutoCloseable {
+
+    public static final int BATCH_SIZE = 256;
+    private static final int QUEUE_CAPACITY = 8192;
+    private static final long POLL_MILLIS = 100;
+    private static final long CLOSE_TIMEOUT_MILLIS = 30_000;
+    private static final int HEAD_BYTES = 256;
+    private static final long IDLE = Long.MIN_VALUE;
+
+    private record Record(long lineNumber, String kind, String fields, long readNanos) { }
+
+    // Tells a worker that no more records will come.
+    private static final Record END = new Record(-1, "", "", 0);
+
+    /**
+     * A point-in-time view of the ingestor's progress.
+     *
+     * @param received   Records read from the feed.
+     * @param applied    Records applied to the store.
+     * @param rejected   Records that were malformed or could not be applied.
+     * @param queued     Records read but not yet applied (bounded by the queue capacity).
+     * @param lagMillis  How long the oldest record not yet applied has waited since it was read (0 if none).
+     */
+    public record Status(long received, long applied, long rejected, int queued, long lagMillis) {
+        @Override
+        public String toString() {
+            return "received=" + received + " applied=" + applied + " rejected=" + rejected
+                    + " queued=" + queued + " lag=" + lagMillis + "ms";
+        }
+    }
+
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final List<BlockingQueue<Record>> queues = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    // Per worker, when the oldest record of the batch it is applying was read, or IDLE
+    private final AtomicLongArray applyingSince;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong applied = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile boolean running = true;
+    private Thread reader;
+
+    /**
+     * @param workerCount Number of worker threads applying records.
+     */
+    public StreamIngestor(StudentService studentService, CourseService courseService,
+                          EnrollmentService enrollmentService, int workerCount) {
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+        int count = Math.max(1, workerCount);
+        this.applyingSince = new AtomicLongArray(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            applyingSince.set(i, IDLE);
+            BlockingQueue<Record> queue = new ArrayBlockingQueue<>(Math.max(BATCH_SIZE, QUEUE_CAPACITY / count));
+            Thread worker = new Thread(() -> work(queue, index), "ingest-worker-" + i);
+            worker.setDaemon(true);
+            queues.add(queue);
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Ingests a stream (stdin or a named pipe) until it ends.
+     */
+    public void start(InputStream in) {
+        start(() -> readLines(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))));
+    }
+
+    /**
+     * Ingests a file; with follow, keeps reading what is appended to it, as
+     * {@code tail -f} does, until {@link #close()}.
+     */
+    public void start(Path file, boolean follow) {
+        if (follow) {
+            start(() -> tail(file));
+        } else {
+            start(() -> readLines(Files.newBufferedReader(file)));
+        }
+    }
+
+    private interface Source {
+        void read() throws IOException, InterruptedException;
+    }
+
+    private void start(Source source) {
+        workers.forEach(Thread::start);
+        reader = new Thread(() -> {
+            try {
+                source.read();
+            } catch (IOException e) {
+                if (running) System.err.println("[ingest] Cannot read feed: " + e.getMessage());
+            } catch (InterruptedException e) {
+                // Interrupted by close(); the flag stays clear so the workers can still be told to end.
+            } finally {
+                endWorkers();
+            }
+        }, "ingest-reader");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    private void readLines(BufferedReader lines) throws IOException, InterruptedException {
+        try (lines) {
+            String line;
+            long lineNumber = 0;
+            while (running && (line = lines.readLine()) != null) {
+                accept(++lineNumber, line);
+            }
+        }
+    }
+
+    // Polls the file for appended bytes. It is read again from the start once it is another file,
+    // is shorter than what was read, or no longer starts as it did, so a replacement is noticed
+    // even when it has already grown past the old position.
+    private void tail(Path file) throws IOException, InterruptedException {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+        long position = 0;
+        long lineNumber = 0;
+        Object fileKey = null;
+        byte[] head = new byte[0];
+        while (running) {
+            if (Files.exists(file)) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    Object key = Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+                    if (position > 0 && (channel.size() < position || !Objects.equals(key, fileKey)
+                            || !Arrays.equals(readHead(channel, head.length), head))) {
+                        System.out.println("[ingest] " + file + " was replaced; reading it from the start.");
+                        position = 0;
+                        lineNumber = 0;
+                        partialLine.reset();
+                        head = new byte[0];
+                    }
+                    fileKey = key;
+                    channel.position(position);
+                    int read;
+                    while (running && (read = channel.read(buffer.clear())) > 0) {
+                        position += read;
+                        byte[] bytes = buffer.array();
+                        int lineStart = 0;
+                        for (int i = 0; i < read; i++) {
+                            if (bytes[i] == '\n') {
+                                partialLine.write(bytes, lineStart, i - lineStart);
+                                accept(++lineNumber, partialLine.toString(StandardCharsets.UTF_8));
+                                partialLine.reset();
+                                lineStart = i + 1;
+                            }
+                        }
+                        partialLine.write(bytes, lineStart, read - lineStart); // rest of a line still being written
+                    }
+                    if (head.length < HEAD_BYTES && position > head.length) {
+                        head = readHead(channel, (int) Math.min(HEAD_BYTES, position));
+                    }
+                }
+            }
+            Thread.sleep(POLL_MILLIS);
+        }
+    }
+
+    private static byte[] readHead(FileChannel channel, int length) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(length);
+        while (head.hasRemaining() && channel.read(head, head.position()) > 0) { }
+        return Arrays.copyOf(head.array(), head.position());
+    }
+
+    // Runs on the reader thread; blocks while the chosen worker's queue is full.
+    private void accept(long lineNumber, String line) throws InterruptedException {
+        String trimmed = line.strip();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) return;
+        received.incrementAndGet();
+        int comma = trimmed.indexOf(',');
+        Record record = new Record(lineNumber, comma < 0 ? trimmed : trimmed.substring(0, comma).toLowerCase(),
+                comma < 0 ? "" : trimmed.substring(comma + 1), System.nanoTime());
+        switch (record.kind()) {
+            case "course" -> apply(List.of(record));
+            case "student", "enrollment" -> {
+                String[] fields = record.fields().split(",", -1);
+                int regNoField = record.kind().equals("student") ? 3 : 0;
+                if (fields.length <= regNoField) {
+                    reject(record, "malformed " + record.kind() + " record");
+                    return;
+                }
+                queues.get(Math.floorMod(fields[regNoField].strip().hashCode(), queues.size())).put(record);
+            }
+            default -> reject(record, "unknown record kind '" + record.kind() + "'");
+        }
+    }
+
+    private void work(BlockingQueue<Record> queue, int index) {
+        List<Record> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                boolean end = batch.get(batch.size() - 1) == END;
+                if (end) batch.remove(batch.size() - 1);
+                if (!batch.isEmpty()) applyingSince.set(index, batch.get(0).readNanos());
+                apply(batch);
+                applyingSince.set(index, IDLE);
+                batch.clear();
+                if (end) return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void apply(List<Record> batch) {
+        for (Record record : batch) {
+            try {
+                switch (record.kind()) {
+                    case "student" -> applyStudent(record.fields());
+                    case "course" -> applyCourse(record.fields());
+                    case "enrollment" -> applyEnrollment(record.fields().split(","));
+                    default -> throw new IllegalArgumentException("unknown record kind '" + record.kind() + "'");
+                }
+                applied.incrementAndGet();
+            } catch (Exception e) {
+                reject(record, e.getMessage());
+            }
+        }
+    }
+
+    private void applyStudent(String fields) {
+        Student incoming = ImportExportService.parseStudent(fields);
+        Student existing = studentService.findStudentByRegNo(incoming.getRegNo()).orElse(null);
+        if (existing == null) {
+            studentService.addStudent(incoming);
+            return;
+        }
+        // Re-adding would replace the student and drop its enrollments, so update in place.
+        synchronized (existing) {
+            existing.setFullName(incoming.getFullName());
+            existing.setEmail(incoming.getEmail());
+            existing.setDateOfBirth(incoming.getDateOfBirth());
+        }
+        studentService.updateStudent(existing);
+    }
+
+    private void applyCourse(String fields) {
+        Course course = ImportExportService.parseCourse(fields);
+        if (courseService.findCourseByCode(course.getCode()).isPresent()) {
+            courseService.updateCourse(course);
+        } else {
+            courseService.addCourse(course);
+        }
+    }
+
+    private void applyEnrollment(String[] fields) throws Exception {
+        if (fields.length < 3) throw new IllegalArgumentException("malformed enrollment record");
+        Student student = studentService.findStudentByRegNo(fields[0].strip())
+                .orElseThrow(() -> new NoSuchElementException("unknown student " + fields[0].strip()));
+        Course course = courseService.findCourseByCode(fields[1].strip())
+                .orElseThrow(() -> new NoSuchElementException("unknown course " + fields[1].strip()));
+        boolean enrolled = student.getEnrolledCourses().stream()
+                .anyMatch(e -> e.getCourse().getCode().equals(course.getCode()));
+        if (!enrolled) enrollmentService.enrollStudent(student, course);
+        String grade = fields[2].strip();
+        if (!"NULL".equalsIgnoreCase(grade)) {
+            enrollmentService.assignGrade(student, course, Grade.valueOf(grade.toUpperCase()));
+        }
+    }
+
+    private void reject(Record record, String reason) {
+        rejected.incrementAndGet();
+        System.err.println("[ingest] Skipping line " + record.lineNumber() + " (" + record.kind() + ","
+                + record.fields() + "): " + reason);
+    }
+
+    private void endWorkers() {
+        for (BlockingQueue<Record> queue : queues) {
+            try {
+                queue.put(END);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * The lag is the age of the oldest record still waiting or being applied, so a
+     * stalled worker shows a growing lag rather than the last one it finished with.
+     */
+    public Status getStatus() {
+        long now = System.nanoTime();
+        long lagNanos = 0;
+        int queued = 0;
+        for (int i = 0; i < queues.size(); i++) {
+            BlockingQueue<Record> queue = queues.get(i);
+            queued += queue.size();
+            long since = applyingSince.get(i);
+            if (since != IDLE) lagNanos = Math.max(lagNanos, now - since);
+            Record oldest = queue.peek();
+            if (oldest != null && oldest != END) lagNanos = Math.max(lagNanos, now - oldest.readNanos());
+        }
+        return new Status(received.get(), applied.get(), rejected.get(), queued,
+                TimeUnit.NANOSECONDS.toMillis(lagNanos));
+    }
+
+    /**
+     * @return True once the feed has ended and every record read from it has been applied or rejected.
+     */
+    public boolean isFinished() {
+        if (reader == null || reader.isAlive()) return false;
+        for (Thread worker : workers) {
+            if (worker.isAlive()) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Waits up to the timeout for the feed to end and every queued record to be applied.
+     *
+     * @return True if ingestion finished.
+     */
+    public boolean awaitFinished(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        if (reader != null) reader.join(Math.max(1, deadline - System.currentTimeMillis()));
+        for (Thread worker : workers) worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+        return isFinished();
+    }
+
+    /**
+     * Stops reading, applies what is already queued, then stops the workers.
+     * A reader blocked on stdin or a pipe cannot be woken, so it is left behind
+     * as a daemon thread.
+     */
+    @Override
+    public void close() {
+        running = false;
+        if (reader == null) return;
+        reader.interrupt(); // wakes a tailing reader from its poll sleep
+        try {
+            reader.join(POLL_MILLIS * 10);
+            if (reader.isAlive()) endWorkers();
+            for (Thread worker : workers) worker.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
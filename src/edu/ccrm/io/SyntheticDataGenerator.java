@@ -0,0 +1,199 @@
+package edu.ccrm.io;
+
+import edu.ccrm.domain.Grade;
+import edu.ccrm.domain.Semester;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates students.csv, courses.csv and enrollments.csv at a configurable scale,
+ * in exactly the format read by {@link ImportExportService}.
+ * The same seed always produces the same dataset.
+ */
+public class SyntheticDataGenerator {
+
+    private static final String[] FIRST_NAMES = {
+        "Aarav", "Aditi", "Arjun", "Diya", "Divya", "Ishaan", "Kavya", "Meera", "Neha", "Nikhil",
+        "Priya", "Rahul", "Riya", "Rohan", "Saanvi", "Sahil", "Sneha", "Tanvi", "Varun", "Vivaan"
+    };
+    private static final String[] LAST_NAMES = {
+        "Agarwal", "Bose", "Chopra", "Das", "Gupta", "Iyer", "Joshi", "Kapoor", "Khan", "Mehta",
+        "Mishra", "Nair", "Patel", "Reddy", "Rao", "Sharma", "Singh", "Soni", "Verma", "Yadav"
+    };
+    private static final String[] PROGRAMMES = { "BCE", "BAI", "BCY", "BEC", "BME", "BEE" };
+    private static final String[][] DEPARTMENTS = {
+        // department, course code prefix
+        { "SCOPE", "CSE" }, { "SENSE", "ECE" }, { "SMEC", "MEE" }, { "SEEE", "EEE" }, { "SASL", "MAT" }
+    };
+    private static final String[] TITLE_WORDS = {
+        "Programming", "Systems", "Networks", "Design", "Analysis", "Algorithms", "Signals",
+        "Mechanics", "Circuits", "Calculus", "Databases", "Security", "Machines", "Theory"
+    };
+    private static final int[] CREDIT_CHOICES = { 2, 3, 3, 3, 4, 4 };
+    // Cumulative weights for S, A, B, C, D, E, F
+    private static final int[] GRADE_WEIGHTS = { 10, 30, 55, 75, 87, 95, 100 };
+    private static final int MAX_CREDITS_PER_STUDENT = 27;
+
+    private final int studentCount;
+    private final int courseCount;
+    private final int minEnrollments;
+    private final int maxEnrollments;
+    private final double gradedRatio;
+    private final double popularitySkew;
+    private final long seed;
+
+    private SyntheticDataGenerator(Builder builder) {
+        this.studentCount = builder.studentCount;
+        this.courseCount = builder.courseCount;
+        this.minEnrollments = builder.minEnrollments;
+        this.maxEnrollments = builder.maxEnrollments;
+        this.gradedRatio = builder.gradedRatio;
+        this.popularitySkew = builder.popularitySkew;
+        this.seed = builder.seed;
+    }
+
+    /**
+     * Writes the three CSV files into the given directory, replacing existing ones.
+     */
+    public void generate(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Random random = new Random(seed);
+
+        int[] courseCredits = writeCourses(directory.resolve("courses.csv"), random);
+        List<String> regNos = writeStudents(directory.resolve("students.csv"), random);
+        writeEnrollments(directory.resolve("enrollments.csv"), random, regNos, courseCredits);
+    }
+
+    // Returns the credits of each course by index; the code is derived from the index.
+    private int[] writeCourses(Path file, Random random) throws IOException {
+        int[] courseCredits = new int[courseCount];
+        Semester[] semesters = Semester.values();
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < courseCount; i++) {
+                String[] dept = DEPARTMENTS[i % DEPARTMENTS.length];
+                int credits = CREDIT_CHOICES[random.nextInt(CREDIT_CHOICES.length)];
+                String title = TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " "
+                        + TITLE_WORDS[random.nextInt(TITLE_WORDS.length)] + " " + (i / DEPARTMENTS.length + 1);
+                writer.write(String.join(",", courseCode(i), title, String.valueOf(credits),
+                        dept[0], semesters[random.nextInt(semesters.length)].name()));
+                writer.newLine();
+                courseCredits[i] = credits;
+            }
+        }
+        return courseCredits;
+    }
+
+    private List<String> writeStudents(Path file, Random random) throws IOException {
+        List<String> regNos = new ArrayList<>(studentCount);
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < studentCount; i++) {
+                String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                int year = 21 + random.nextInt(5);
+                String regNo = year + PROGRAMMES[random.nextInt(PROGRAMMES.length)] + (10000 + i);
+                LocalDate dob = LocalDate.of(1980 + year - 1, 1, 1).plusDays(random.nextInt(3 * 365));
+                writer.write(String.join(",", first + " " + last,
+                        first.toLowerCase() + "." + regNo.toLowerCase() + "@vitbhopal.ac.in",
+                        dob.format(ImportExportService.CSV_DATE_FORMATTER), regNo));
+                writer.newLine();
+                regNos.add(regNo);
+            }
+        }
+        return regNos;
+    }
+
+    private void writeEnrollments(Path file, Random random, List<String> regNos, int[] courseCredits) throws IOException {
+        Grade[] grades = Grade.values();
+        try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+            if (courseCredits.length == 0) return;
+            for (String regNo : regNos) {
+                int target = minEnrollments + random.nextInt(maxEnrollments - minEnrollments + 1);
+                Set<Integer> chosen = new HashSet<>();
+                int credits = 0;
+                for (int attempt = 0; chosen.size() < target && attempt < target * 4; attempt++) {
+                    int course = pickCourse(random, courseCredits.length);
+                    if (credits + courseCredits[course] > MAX_CREDITS_PER_STUDENT || !chosen.add(course)) continue;
+                    credits += courseCredits[course];
+                    String grade = "NULL";
+                    if (random.nextDouble() < gradedRatio) {
+                        int roll = random.nextInt(100);
+                        int g = 0;
+                        while (roll >= GRADE_WEIGHTS[g]) g++;
+                        grade = grades[g].name();
+                    }
+                    writer.write(String.join(",", regNo, courseCode(course), grade));
+                    writer.newLine();
+                }
+            }
+        }
+    }
+
+    /**
+     * Picks a course index with a power-law bias, so a few core courses are
+     * far more popular than electives (skew 1.0 means uniform).
+     */
+    private int pickCourse(Random random, int count) {
+        return (int) Math.min(count - 1, Math.floor(Math.pow(random.nextDouble(), popularitySkew) * count));
+    }
+
+    private static String courseCode(int index) {
+        return DEPARTMENTS[index % DEPARTMENTS.length][1] + (1000 + index);
+    }
+
+    // --- Static nested Builder class ---
+    public static class Builder {
+        private int studentCount = 1000;
+        private int courseCount = 50;
+        private int minEnrollments = 3;
+        private int maxEnrollments = 7;
+        private double gradedRatio = 0.7;
+        private double popularitySkew = 2.0;
+        private long seed = 42L;
+
+        public Builder students(int studentCount) {
+            this.studentCount = studentCount;
+            return this;
+        }
+
+        public Builder courses(int courseCount) {
+            this.courseCount = courseCount;
+            return this;
+        }
+
+        public Builder enrollmentsPerStudent(int min, int max) {
+            this.minEnrollments = min;
+            this.maxEnrollments = max;
+            return this;
+        }
+
+        public Builder gradedRatio(double gradedRatio) {
+            this.gradedRatio = gradedRatio;
+            return this;
+        }
+
+        public Builder popularitySkew(double popularitySkew) {
+            this.popularitySkew = popularitySkew;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public SyntheticDataGenerator build() {
+            if (studentCount < 0 || courseCount < 0 || minEnrollments < 0 || maxEnrollments < minEnrollments) {
+                throw new IllegalArgumentException("Invalid generator settings.");
+            }
+            return new SyntheticDataGenerator(this);
+        }
+    }
+}
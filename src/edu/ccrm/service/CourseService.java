@@ -7,6 +7,8 @@ import java.util.Optional;
 
 public interface CourseService {
     void addCourse(Course course);
+    boolean addCourseIfAbsent(Course course);
+    boolean updateCourse(Course course);
     Optional<Course> findCourseByCode(String courseCode);
     List<Course> getAllCourses();
     List<Course> findCoursesByDepartment(String department);
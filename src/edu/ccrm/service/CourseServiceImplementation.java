@@ -1,10 +1,15 @@
 package edu.ccrm.service;
 
 import edu.ccrm.config.DataStore;
+import edu.ccrm.config.ShardedStore;
 import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Enrollment;
 import edu.ccrm.domain.Semester;
+import edu.ccrm.domain.Student;
+import edu.ccrm.domain.WeeklySchedule;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -18,17 +23,160 @@ public class CourseServiceImplementation implements CourseService {
             System.err.println("Cannot add a null course or a course with no code.");
             return;
         }
-        dataStore.courses.put(course.getCode(), course);
+        ShardedStore.Shard shard = dataStore.shards.shard(course.getDepartment());
+        Course replaced;
+        while (true) {
+            // A course re-added under another department leaves its old shard; both locks are
+            // taken in the same order as for a move in updateCourse.
+            ShardedStore.Shard current = dataStore.shards.shardOfCourse(course.getCode());
+            ShardedStore.Shard previous = current == null ? shard : current;
+            lockBoth(previous, shard);
+            try {
+                if (!dataStore.shards.rerouteCourse(course.getCode(), current, shard)) continue; // moved meanwhile
+                replaced = previous == shard ? null : previous.courses.remove(course.getCode());
+                Course sameShard = shard.courses.put(course.getCode(), course);
+                if (replaced == null) replaced = sameShard;
+                break;
+            } finally {
+                unlockBoth(previous, shard);
+            }
+        }
+        if (replaced != null && replaced != course && replaced.getInstructor() != null) {
+            replaced.getInstructor().unassignCourse(replaced);
+        }
+        dataStore.teachingLoad.index(course);
+        dataStore.mutationListener.courseAdded(course);
+    }
+
+    /**
+     * Adds the course only if no course has its code. Claiming the code is atomic
+     * across departments, so concurrent adds of the same code cannot both succeed.
+     *
+     * @return false if a course with that code already exists.
+     */
+    @Override
+    public boolean addCourseIfAbsent(Course course) {
+        if (course == null || course.getCode() == null) {
+            System.err.println("Cannot add a null course or a course with no code.");
+            return false;
+        }
+        ShardedStore.Shard shard = dataStore.shards.shard(course.getDepartment());
+        shard.lock.lock();
+        try {
+            if (!dataStore.shards.claimCourse(course.getCode(), shard)) return false;
+            shard.courses.put(course.getCode(), course);
+        } finally {
+            shard.lock.unlock();
+        }
+        dataStore.teachingLoad.index(course);
+        dataStore.mutationListener.courseAdded(course);
+        return true;
+    }
+
+    /**
+     * Copies the title, department, semester and time slots of the given course onto
+     * the stored course with the same code, so existing enrollments see the change.
+     * Credits are fixed once a course exists because grades are weighted by them.
+     * A department change moves the course to the new department's shard. A title
+     * change republishes every enrolled student, whose committed records (and so
+     * transcripts) carry the title.
+     *
+     * @return false if no course with that code exists.
+     * @throws IllegalArgumentException if the new semester or time slots would make
+     *         the course clash with another course an enrolled student takes; nothing is changed.
+     */
+    @Override
+    public boolean updateCourse(Course course) {
+        if (course == null || course.getCode() == null) return false;
+        ShardedStore.Shard from = dataStore.shards.shardOfCourse(course.getCode());
+        if (from == null) return false;
+        ShardedStore.Shard to = dataStore.shards.shard(course.getDepartment());
+        Course existing;
+        boolean titleChanged;
+        lockBoth(from, to);
+        try {
+            existing = from.courses.get(course.getCode());
+            if (existing == null) return false; // moved or replaced concurrently
+            titleChanged = !Objects.equals(existing.getTitle(), course.getTitle());
+            boolean timetableChanged = existing.getSemester() != course.getSemester()
+                    || !existing.getTimeSlots().equals(course.getTimeSlots());
+            if (timetableChanged) checkNoNewClashes(existing, course);
+            existing.setTitle(course.getTitle());
+            existing.setDepartment(course.getDepartment());
+            existing.setSemester(course.getSemester());
+            existing.setTimeSlots(course.getTimeSlots());
+            if (from != to) {
+                from.courses.remove(course.getCode());
+                to.courses.put(course.getCode(), existing);
+                dataStore.shards.routeCourse(course.getCode(), to);
+            }
+        } finally {
+            unlockBoth(from, to);
+        }
+        if (titleChanged) republishEnrolledStudents(existing.getCode());
+        dataStore.teachingLoad.index(existing);
+        dataStore.mutationListener.courseUpdated(existing);
+        return true;
+    }
+
+    // Checks the proposed timetable against every other course of each enrolled student.
+    private void checkNoNewClashes(Course existing, Course proposed) {
+        WeeklySchedule schedule = WeeklySchedule.of(proposed.getTimeSlots());
+        if (schedule.isEmpty()) return;
+        for (String regNo : dataStore.studentIndex.enrolledIn(existing.getCode())) {
+            ShardedStore.Shard shard = dataStore.shards.existingShard(Student.departmentOf(regNo));
+            Student student = shard == null ? null : shard.students.get(regNo);
+            if (student == null) continue;
+            for (Enrollment enrollment : student.getEnrolledCourses()) {
+                Course other = enrollment.getCourse();
+                if (other.getCode().equals(existing.getCode())) continue;
+                if (other.getSemester() == proposed.getSemester() && schedule.overlaps(other.getSchedule())) {
+                    throw new IllegalArgumentException("timetable change for " + existing.getCode()
+                            + " would clash with " + other.getCode() + " for student " + regNo);
+                }
+            }
+        }
+    }
+
+    // Students enrolled from here on copy the new title anyway, so the index's current members suffice.
+    private void republishEnrolledStudents(String courseCode) {
+        for (String regNo : dataStore.studentIndex.enrolledIn(courseCode)) {
+            ShardedStore.Shard shard = dataStore.shards.existingShard(Student.departmentOf(regNo));
+            Student student = shard == null ? null : shard.students.get(regNo);
+            if (student == null) continue;
+            synchronized (student) {
+                dataStore.versions.publish(student);
+            }
+        }
+    }
+
+    // Shard locks are always taken in key order so two moves cannot deadlock.
+    private static void lockBoth(ShardedStore.Shard a, ShardedStore.Shard b) {
+        if (a == b) {
+            a.lock.lock();
+        } else if (a.key.compareTo(b.key) < 0) {
+            a.lock.lock();
+            b.lock.lock();
+        } else {
+            b.lock.lock();
+            a.lock.lock();
+        }
+    }
+
+    private static void unlockBoth(ShardedStore.Shard a, ShardedStore.Shard b) {
+        a.lock.unlock();
+        if (a != b) b.lock.unlock();
     }
 
     @Override
     public Optional<Course> findCourseByCode(String courseCode) {
-        return Optional.ofNullable(dataStore.courses.get(courseCode));
+        ShardedStore.Shard shard = dataStore.shards.shardOfCourse(courseCode);
+        return shard == null ? Optional.empty() : Optional.ofNullable(shard.courses.get(courseCode));
     }
 
     @Override
     public List<Course> getAllCourses() {
-        return new ArrayList<>(dataStore.courses.values());
+        return dataStore.shards.allCourses().collect(Collectors.toCollection(ArrayList::new));
     }
 
     /**
@@ -36,17 +184,20 @@ public class CourseServiceImplementation implements CourseService {
      */
     @Override
     public List<Course> findCoursesByDepartment(String department) {
-        return dataStore.courses.values().stream()
+        // A department is exactly one shard, so nothing else is scanned.
+        ShardedStore.Shard shard = dataStore.shards.existingShard(department);
+        if (shard == null) return new ArrayList<>();
+        return shard.courses.values().stream()
                 .filter(course -> department.equalsIgnoreCase(course.getDepartment()))
                 .collect(Collectors.toList());
     }
 
     /**
-     * Demonstrates using the Stream API to filter by an Enum.
+     * Demonstrates using the Stream API to filter by an Enum; the scan fans out over all shards in parallel.
      */
     @Override
     public List<Course> findCoursesBySemester(Semester semester) {
-        return dataStore.courses.values().stream()
+        return dataStore.shards.allCourses()
                 .filter(course -> course.getSemester() == semester)
                 .collect(Collectors.toList());
     }
@@ -3,11 +3,29 @@ package edu.ccrm.service;
 import edu.ccrm.domain.Course;
 import edu.ccrm.domain.Grade;
 import edu.ccrm.domain.Student;
+import edu.ccrm.domain.StudentRecord;
+import edu.ccrm.domain.TimetableClash;
 import edu.ccrm.exception.*;
+import edu.ccrm.index.GpaLeaderboard.RankEntry;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+
 public interface EnrollmentService {
-    void enrollStudent(Student student, Course course) throws DuplicateEnrollmentException, MaxCreditLimitExceededException;
+    void enrollStudent(Student student, Course course) throws DuplicateEnrollmentException, MaxCreditLimitExceededException, TimetableClashException;
     void assignGrade(Student student, Course course, Grade grade);
+    void assignGrades(Student student, Map<Course, Grade> grades);
+    void restoreEnrollments(Student student, Map<Course, Grade> enrollments);
+    void rankArchivedStudents();
     double calculateGpa(Student student);
     void unenrollStudent(Student student, Course course);
     void generateTranscript(Student student);
+    StudentRecord getTranscriptRecord(Student student);
+    long getTranscriptVersion(Student student);
+    OptionalInt getClassRank(Student student);
+    OptionalDouble getPercentile(Student student);
+    List<RankEntry> getMeritList(int topN);
+    List<RankEntry> getMeritList(String department, int topN);
+    List<TimetableClash> findTimetableClashes();
 }
\ No newline at end of file
@@ -1,20 +1,61 @@
 package edu.ccrm.service;
 
+import edu.ccrm.config.DataStore;
+import edu.ccrm.config.ShardedStore;
+import edu.ccrm.config.VersionedStore;
 import edu.ccrm.domain.Course;
 import edu.ccrm.domain.Enrollment;
+import edu.ccrm.domain.EnrollmentRecord;
 import edu.ccrm.domain.Grade;
 import edu.ccrm.domain.Student;
+import edu.ccrm.domain.StudentRecord;
+import edu.ccrm.domain.TimetableClash;
 import edu.ccrm.exception.*;
+import edu.ccrm.index.GpaLeaderboard;
+import edu.ccrm.index.GpaLeaderboard.RankEntry;
+import edu.ccrm.index.TranscriptCache;
+import edu.ccrm.io.ArchiveCatalog;
+import edu.ccrm.io.ConsoleRenderer;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.stream.Collectors;
 
 
 public class EnrollmentServiceImplementation implements EnrollmentService {
     private static final int MAX_CREDITS_PER_SEMESTER = 27;
+    private static final int TRANSCRIPT_CACHE_SIZE = 4096;
+
+    private final GpaLeaderboard leaderboard = DataStore.getInstance().gpaLeaderboard;
+    private final VersionedStore versions = DataStore.getInstance().versions;
+    private final ArchiveCatalog archives = DataStore.getInstance().archives;
+    private final DataStore dataStore = DataStore.getInstance();
+    private final TranscriptCache<String> transcripts = new TranscriptCache<>(TRANSCRIPT_CACHE_SIZE);
 
     @Override
-    public void enrollStudent(Student student, Course course) throws DuplicateEnrollmentException, MaxCreditLimitExceededException {
+    public void enrollStudent(Student student, Course course)
+            throws DuplicateEnrollmentException, MaxCreditLimitExceededException, TimetableClashException {
+        // Mutations of one student's enrollments are serialized so concurrent requests cannot double-book.
+        synchronized (student) {
+            checkEnrollable(student, course);
+
+            Enrollment newEnrollment = new Enrollment(student, course);
+            student.enrollCourse(newEnrollment); // This method should be on the Student class to add to its internal list
+            versions.publish(student);
+            dataStore.studentIndex.enrolled(student.getRegNo(), course.getCode());
+            dataStore.mutationListener.enrolled(student, course);
+        }
+    }
+
+    private void checkEnrollable(Student student, Course course)
+            throws DuplicateEnrollmentException, MaxCreditLimitExceededException, TimetableClashException {
         boolean alreadyEnrolled = student.getEnrolledCourses().stream()
                 .anyMatch(enrollment -> enrollment.getCourse().getCode().equals(course.getCode()));
         if (alreadyEnrolled) {
@@ -28,71 +69,267 @@ public class EnrollmentServiceImplementation implements EnrollmentService {
             throw new MaxCreditLimitExceededException("Enrollment failed. Max credit limit of " + MAX_CREDITS_PER_SEMESTER + " would be exceeded.");
         }
 
-        Enrollment newEnrollment = new Enrollment(student, course);
-        student.enrollCourse(newEnrollment); // This method should be on the Student class to add to its internal list
-        System.out.println("Successfully enrolled " + student.getFullName() + " in " + course.getTitle());
+        Optional<Course> clash = findClash(student, course);
+        if (clash.isPresent()) {
+            throw new TimetableClashException("Enrollment failed. " + course.getCode() + " clashes with "
+                    + clash.get().getCode() + " (" + clash.get().getTimeSlots() + ").");
+        }
     }
 
+    /**
+     * Re-creates a student's saved enrollments (grade may be null) as one change,
+     * with the same checks as {@link #enrollStudent}. A course the student already
+     * takes only gets its grade; a course that fails a check is reported and skipped.
+     * Nothing is sent to the mutation listener, since the data is already on disk.
+     */
     @Override
-    public void assignGrade(Student student, Course course, Grade grade) {
-        student.getEnrolledCourses().stream()
-                .filter(enrollment -> enrollment.getCourse().getCode().equals(course.getCode()))
-                .findFirst()
-                .orElseThrow(() -> new NoSuchElementException("Student is not enrolled in this course."))
-                .setGrade(grade);
+    public void restoreEnrollments(Student student, Map<Course, Grade> enrollments) {
+        synchronized (student) {
+            for (Map.Entry<Course, Grade> entry : enrollments.entrySet()) {
+                Course course = entry.getKey();
+                Optional<Enrollment> enrollment = student.getEnrolledCourses().stream()
+                        .filter(e -> e.getCourse().getCode().equals(course.getCode()))
+                        .findFirst();
+                if (enrollment.isEmpty()) {
+                    try {
+                        checkEnrollable(student, course);
+                    } catch (Exception e) {
+                        System.err.println("Could not restore enrollment " + student.getRegNo() + "," + course.getCode()
+                                + " | Reason: " + e.getMessage());
+                        continue;
+                    }
+                    enrollment = Optional.of(new Enrollment(student, course));
+                    student.enrollCourse(enrollment.get());
+                    dataStore.studentIndex.enrolled(student.getRegNo(), course.getCode());
+                }
+                if (entry.getValue() != null) enrollment.get().setGrade(entry.getValue());
+            }
+            refreshRanking(student);
+            versions.publish(student);
+        }
     }
 
+    /**
+     * Puts students whose grades are all archived back on the leaderboard after a
+     * load, since no live enrollment of theirs will. Students whose enrollments are
+     * still pending are ranked when those are restored.
+     */
     @Override
-    public double calculateGpa(Student student) {
-        List<Enrollment> gradedCourses = student.getEnrolledCourses().stream()
-                .filter(e -> e.getGrade() != null)
-                .toList();
-
-        if (gradedCourses.isEmpty()) return 0.0;
+    public void rankArchivedStudents() {
+        for (String regNo : archives.gradedStudents()) {
+            ShardedStore.Shard shard = dataStore.shards.existingShard(Student.departmentOf(regNo));
+            Student student = shard == null ? null : shard.students.get(regNo);
+            if (student == null || student.hasPendingEnrollments()) continue;
+            synchronized (student) {
+                refreshRanking(student);
+            }
+        }
+    }
 
-        double totalPoints = gradedCourses.stream()
-                .mapToDouble(e -> e.getGrade().getGradePoint() * e.getCourse().getCredits())
-                .sum();
+    @Override
+    public void assignGrade(Student student, Course course, Grade grade) {
+        synchronized (student) {
+            student.getEnrolledCourses().stream()
+                    .filter(enrollment -> enrollment.getCourse().getCode().equals(course.getCode()))
+                    .findFirst()
+                    .orElseThrow(() -> new NoSuchElementException("Student is not enrolled in this course."))
+                    .setGrade(grade);
+            refreshRanking(student);
+            versions.publish(student);
+            dataStore.mutationListener.graded(student, course, grade);
+        }
+    }
 
-        int totalCredits = gradedCourses.stream()
-                .mapToInt(e -> e.getCourse().getCredits())
-                .sum();
+    /**
+     * Assigns several of one student's grades as a single change: one lock,
+     * one ranking update and one published version, however many grades there are.
+     * Nothing is assigned if the student is not enrolled in every course.
+     */
+    @Override
+    public void assignGrades(Student student, Map<Course, Grade> grades) {
+        synchronized (student) {
+            Map<String, Enrollment> byCode = new HashMap<>();
+            for (Enrollment enrollment : student.getEnrolledCourses()) {
+                byCode.put(enrollment.getCourse().getCode(), enrollment);
+            }
+            for (Course course : grades.keySet()) {
+                if (!byCode.containsKey(course.getCode())) {
+                    throw new NoSuchElementException("Student is not enrolled in " + course.getCode() + ".");
+                }
+            }
+            grades.forEach((course, grade) -> byCode.get(course.getCode()).setGrade(grade));
+            refreshRanking(student);
+            versions.publish(student);
+            grades.forEach((course, grade) -> dataStore.mutationListener.graded(student, course, grade));
+        }
+    }
 
+    @Override
+    public double calculateGpa(Student student) {
+        // Single pass that reads each grade once, so a concurrent assignGrade
+        // cannot make the points and credits disagree.
+        double totalPoints = 0;
+        int totalCredits = 0;
+        for (Enrollment e : student.getEnrolledCourses()) {
+            Grade grade = e.getGrade();
+            if (grade == null) continue;
+            totalPoints += grade.getGradePoint() * e.getCourse().getCredits();
+            totalCredits += e.getCourse().getCredits();
+        }
+        // Archived semesters count towards the cumulative GPA.
+        for (EnrollmentRecord e : archives.findEnrollments(student.getRegNo())) {
+            if (e.grade() == null) continue;
+            totalPoints += e.grade().getGradePoint() * e.credits();
+            totalCredits += e.credits();
+        }
         return (totalCredits == 0) ? 0.0 : totalPoints / totalCredits;
     }
     
     @Override
     public void unenrollStudent(Student student, Course course) {
-        Optional<Enrollment> enrollmentOpt = student.getEnrolledCourses().stream()
-                .filter(e -> e.getCourse().getCode().equals(course.getCode()))
-                .findFirst();
+        Optional<Enrollment> enrollmentOpt;
+        synchronized (student) {
+            enrollmentOpt = student.getEnrolledCourses().stream()
+                    .filter(e -> e.getCourse().getCode().equals(course.getCode()))
+                    .findFirst();
+            if (enrollmentOpt.isPresent()) {
+                student.unenrollCourse(enrollmentOpt.get()); // Use the method from the Student class
+                refreshRanking(student);
+                versions.publish(student);
+                dataStore.studentIndex.unenrolled(student.getRegNo(), course.getCode());
+                dataStore.mutationListener.unenrolled(student, course);
+            }
+        }
 
-        if (enrollmentOpt.isPresent()) {
-            student.unenrollCourse(enrollmentOpt.get()); // Use the method from the Student class
-            System.out.println("Successfully unenrolled " + student.getFullName() + " from " + course.getTitle());
-        } else {
+        if (enrollmentOpt.isEmpty()) {
             System.err.println("Error: Student is not enrolled in that course.");
         }
     }
 
+    /**
+     * Prints the transcript from the student's latest committed record, so the
+     * listing and the GPA always describe the same state even while grades change.
+     * The rendered text is cached until the student's next change.
+     */
     @Override
     public void generateTranscript(Student student) {
-        System.out.println("\n--- TRANSCRIPT ---");
-        System.out.println(student.getProfileDetails());
-        System.out.println("--------------------------------------------------");
+        String transcript = transcripts.get(student.getRegNo(), getTranscriptVersion(student), () -> {
+            StringWriter text = new StringWriter();
+            try (ConsoleRenderer renderer = ConsoleRenderer.toWriter(text)) {
+                renderer.transcript(getTranscriptRecord(student));
+            }
+            return text.toString();
+        });
+        try (ConsoleRenderer renderer = ConsoleRenderer.console()) {
+            renderer.text(transcript);
+        }
+    }
 
-        if (student.getEnrolledCourses().isEmpty()) {
-            System.out.println("No courses enrolled.");
-        } else {
-            // This demonstrates polymorphism, as each 'enrollment' object's
-            // specific toString() method is called automatically.
-            for (Enrollment enrollment : student.getEnrolledCourses()) {
-                System.out.println(enrollment);
+    /**
+     * Changes whenever the student's transcript does. Archived enrollments need
+     * no part in it: archiving a semester unenrolls, and so re-versions, every
+     * student it moves.
+     */
+    @Override
+    public long getTranscriptVersion(Student student) {
+        student.ensureEnrollmentsLoaded(); // loading publishes the student's first version
+        return versions.versionOf(student.getRegNo());
+    }
+
+    /**
+     * The student's archived enrollments (oldest semester first) followed by
+     * their latest committed live enrollments.
+     */
+    @Override
+    public StudentRecord getTranscriptRecord(Student student) {
+        student.ensureEnrollmentsLoaded();
+        StudentRecord live = versions.latest(student.getRegNo()).orElseGet(() -> StudentRecord.of(student));
+        List<EnrollmentRecord> archived = archives.findEnrollments(student.getRegNo());
+        if (archived.isEmpty()) return live;
+
+        List<EnrollmentRecord> merged = new ArrayList<>(archived);
+        merged.addAll(live.enrollments());
+        return new StudentRecord(live.regNo(), live.fullName(), live.email(), live.dateOfBirth(), live.active(), merged);
+    }
+
+    @Override
+    public OptionalInt getClassRank(Student student) {
+        dataStore.ensureAllEnrollmentsLoaded(); // a rank compares against every student
+        return leaderboard.rankOf(student.getRegNo());
+    }
+
+    @Override
+    public OptionalDouble getPercentile(Student student) {
+        dataStore.ensureAllEnrollmentsLoaded();
+        return leaderboard.percentileOf(student.getRegNo());
+    }
+
+    @Override
+    public List<RankEntry> getMeritList(int topN) {
+        dataStore.ensureAllEnrollmentsLoaded();
+        return leaderboard.top(topN);
+    }
+
+    @Override
+    public List<RankEntry> getMeritList(String department, int topN) {
+        dataStore.ensureAllEnrollmentsLoaded();
+        return leaderboard.top(department.toUpperCase(), topN);
+    }
+
+    /**
+     * Checks every student's timetable for overlapping courses. Students are
+     * independent, so the scan fans out over all shards in parallel.
+     */
+    @Override
+    public List<TimetableClash> findTimetableClashes() {
+        return dataStore.shards.allStudents()
+                .flatMap(student -> clashesOf(student).stream())
+                .sorted(Comparator.comparing(TimetableClash::regNo).thenComparing(TimetableClash::courseCode))
+                .collect(Collectors.toList());
+    }
+
+    private List<TimetableClash> clashesOf(Student student) {
+        List<Enrollment> enrollments = student.getEnrolledCourses();
+        List<TimetableClash> clashes = new ArrayList<>();
+        for (int i = 0; i < enrollments.size(); i++) {
+            Course course = enrollments.get(i).getCourse();
+            for (int j = i + 1; j < enrollments.size(); j++) {
+                Course other = enrollments.get(j).getCourse();
+                if (clashes(course, other)) {
+                    clashes.add(new TimetableClash(student.getRegNo(), course.getCode(), other.getCode(), course.getSemester()));
+                }
             }
         }
-        
-        System.out.println("--------------------------------------------------");
-        System.out.printf("Cumulative GPA: %.2f\n", calculateGpa(student));
-        System.out.println("--- END OF TRANSCRIPT ---\n");
+        return clashes;
+    }
+
+    /**
+     * @return A course the student already takes that meets at the same time as the given one.
+     */
+    private Optional<Course> findClash(Student student, Course course) {
+        if (course.getSchedule().isEmpty()) return Optional.empty();
+        return student.getEnrolledCourses().stream()
+                .map(Enrollment::getCourse)
+                .filter(enrolled -> clashes(enrolled, course))
+                .findFirst();
+    }
+
+    // Courses clash only when they run in the same semester and share a time unit.
+    private static boolean clashes(Course a, Course b) {
+        return a.getSemester() == b.getSemester() && a.getSchedule().overlaps(b.getSchedule());
+    }
+
+    /**
+     * Re-positions the student on the GPA leaderboard after a grade-affecting change.
+     * Students without any graded course are not ranked.
+     */
+    private void refreshRanking(Student student) {
+        boolean hasGrades = student.getEnrolledCourses().stream().anyMatch(e -> e.getGrade() != null)
+                || archives.findEnrollments(student.getRegNo()).stream().anyMatch(e -> e.grade() != null);
+        if (hasGrades) {
+            leaderboard.update(student.getRegNo(), student.getDepartment(), calculateGpa(student));
+        } else {
+            leaderboard.remove(student.getRegNo());
+        }
     }
 }
\ No newline at end of file
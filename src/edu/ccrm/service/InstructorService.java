@@ -0,0 +1,20 @@
+package edu.ccrm.service;
+
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Instructor;
+import edu.ccrm.domain.Semester;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface InstructorService {
+    void addInstructor(Instructor instructor);
+    Optional<Instructor> findInstructorById(String id);
+    List<Instructor> getAllInstructors();
+    void assignInstructor(Course course, Instructor instructor);
+    void unassignInstructor(Course course);
+    int getTeachingLoad(Instructor instructor, Semester semester);
+    Map<Semester, Integer> getTeachingLoad(Instructor instructor);
+    Map<Instructor, Integer> getTeachingLoads(Semester semester);
+    List<Course> findUnassignedCourses(String department);
+}
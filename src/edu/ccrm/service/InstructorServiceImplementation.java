@@ -0,0 +1,88 @@
+package edu.ccrm.service;
+
+import edu.ccrm.config.DataStore;
+import edu.ccrm.domain.Course;
+import edu.ccrm.domain.Instructor;
+import edu.ccrm.domain.Semester;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class InstructorServiceImplementation implements InstructorService {
+
+    private final DataStore dataStore = DataStore.getInstance();
+
+    @Override
+    public void addInstructor(Instructor instructor) {
+        if (instructor == null || instructor.getId() == null) {
+            System.err.println("Cannot add a null instructor or an instructor with no ID.");
+            return;
+        }
+        dataStore.instructors.put(instructor.getId(), instructor);
+        dataStore.mutationListener.instructorAdded(instructor);
+    }
+
+    @Override
+    public Optional<Instructor> findInstructorById(String id) {
+        return Optional.ofNullable(dataStore.instructors.get(id));
+    }
+
+    @Override
+    public List<Instructor> getAllInstructors() {
+        return new ArrayList<>(dataStore.instructors.values());
+    }
+
+    /**
+     * Makes the instructor the course's only instructor, updating both sides of
+     * the link and the teaching-load index together.
+     */
+    @Override
+    public void assignInstructor(Course course, Instructor instructor) {
+        synchronized (course) {
+            Instructor previous = course.getInstructor();
+            if (previous == instructor) return;
+            if (previous != null) previous.unassignCourse(course);
+            course.setInstructor(instructor);
+            if (instructor != null) instructor.assignCourse(course);
+            dataStore.teachingLoad.index(course);
+            dataStore.mutationListener.instructorAssigned(course, instructor);
+        }
+    }
+
+    @Override
+    public void unassignInstructor(Course course) {
+        assignInstructor(course, null);
+    }
+
+    @Override
+    public int getTeachingLoad(Instructor instructor, Semester semester) {
+        return dataStore.teachingLoad.creditsOf(instructor.getId(), semester);
+    }
+
+    @Override
+    public Map<Semester, Integer> getTeachingLoad(Instructor instructor) {
+        return dataStore.teachingLoad.loadOf(instructor.getId());
+    }
+
+    /**
+     * @return Credits per instructor for the semester, heaviest load first.
+     */
+    @Override
+    public Map<Instructor, Integer> getTeachingLoads(Semester semester) {
+        Map<Instructor, Integer> result = new LinkedHashMap<>();
+        dataStore.teachingLoad.loadsIn(semester).entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(e -> {
+                    Instructor instructor = dataStore.instructors.get(e.getKey());
+                    if (instructor != null) result.put(instructor, e.getValue());
+                });
+        return result;
+    }
+
+    @Override
+    public List<Course> findUnassignedCourses(String department) {
+        return dataStore.teachingLoad.unassignedIn(department);
+    }
+}
@@ -0,0 +1,105 @@
+package edu.ccrm.service;
+
+import java.time.LocalDate;
+
+/**
+ * A combination of student filters for {@link StudentService#findStudents}.
+ * Every filter is optional and all given filters must match. Bounds are inclusive.
+ *
+ * <pre>
+ * new StudentQuery.Builder().active(true).enrolledIn("CSE2006").gpaBetween(8.0, 10.0).build()
+ * </pre>
+ */
+public final class StudentQuery {
+    private final Boolean active;
+    private final LocalDate bornFrom;
+    private final LocalDate bornTo;
+    private final String courseCode;
+    private final Double minGpa;
+    private final Double maxGpa;
+    private final String department;
+    private final int limit;
+
+    private StudentQuery(Builder builder) {
+        this.active = builder.active;
+        this.bornFrom = builder.bornFrom;
+        this.bornTo = builder.bornTo;
+        this.courseCode = builder.courseCode;
+        this.minGpa = builder.minGpa;
+        this.maxGpa = builder.maxGpa;
+        this.department = builder.department;
+        this.limit = builder.limit;
+    }
+
+    public Boolean getActive() { return active; }
+    public LocalDate getBornFrom() { return bornFrom; }
+    public LocalDate getBornTo() { return bornTo; }
+    public String getCourseCode() { return courseCode; }
+    public Double getMinGpa() { return minGpa; }
+    public Double getMaxGpa() { return maxGpa; }
+    public String getDepartment() { return department; }
+    public int getLimit() { return limit; }
+
+    public boolean hasBirthRange() { return bornFrom != null || bornTo != null; }
+    // Only graded students have a GPA, so a GPA filter excludes ungraded ones.
+    public boolean hasGpaRange() { return minGpa != null || maxGpa != null; }
+
+    // --- Static nested Builder class ---
+    public static class Builder {
+        private Boolean active;
+        private LocalDate bornFrom;
+        private LocalDate bornTo;
+        private String courseCode;
+        private Double minGpa;
+        private Double maxGpa;
+        private String department;
+        private int limit;
+
+        public Builder active(boolean active) {
+            this.active = active;
+            return this;
+        }
+
+        /**
+         * @param from Earliest date of birth, or null for no lower bound.
+         * @param to Latest date of birth, or null for no upper bound.
+         */
+        public Builder bornBetween(LocalDate from, LocalDate to) {
+            this.bornFrom = from;
+            this.bornTo = to;
+            return this;
+        }
+
+        public Builder enrolledIn(String courseCode) {
+            this.courseCode = courseCode;
+            return this;
+        }
+
+        /**
+         * @param min Lowest GPA, or null for no lower bound.
+         * @param max Highest GPA, or null for no upper bound.
+         */
+        public Builder gpaBetween(Double min, Double max) {
+            this.minGpa = min;
+            this.maxGpa = max;
+            return this;
+        }
+
+        public Builder department(String department) {
+            this.department = department;
+            return this;
+        }
+
+        /**
+         * @param limit Maximum number of results (0 for all).
+         */
+        public Builder limit(int limit) {
+            this.limit = limit;
+            return this;
+        }
+
+        public StudentQuery build() {
+            return new StudentQuery(this);
+        }
+    }
+}
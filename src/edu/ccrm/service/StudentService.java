@@ -1,12 +1,20 @@
 package edu.ccrm.service;
 
+import edu.ccrm.config.VersionedStore;
 import edu.ccrm.domain.Student;
+import edu.ccrm.domain.StudentRecord;
 import java.util.List;
 import java.util.Optional;
 
 public interface StudentService {
     void addStudent(Student student);
+    boolean addStudentIfAbsent(Student student);
     Optional<Student> findStudentByRegNo(String regNo);
+    Optional<StudentRecord> findArchivedStudent(String regNo);
     List<Student> getAllStudents();
+    List<Student> findStudents(StudentQuery query);
+    String explain(StudentQuery query);
     void updateStudent(Student student);
+    VersionedStore.Snapshot openSnapshot();
+    StudentRecord getCommittedRecord(Student student);
 }
\ No newline at end of file
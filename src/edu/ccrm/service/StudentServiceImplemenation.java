@@ -1,13 +1,27 @@
 package edu.ccrm.service;
 
 import edu.ccrm.config.DataStore;
+import edu.ccrm.config.ShardedStore;
+import edu.ccrm.config.VersionedStore;
+import edu.ccrm.domain.EnrollmentRecord;
 import edu.ccrm.domain.Student;
+import edu.ccrm.domain.StudentRecord;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class StudentServiceImplemenation implements StudentService {
 
+    // Candidate sets at least this large are filtered in parallel.
+    private static final int PARALLEL_THRESHOLD = 4096;
+
     // Get the single instance of our in-memory data store.
     private final DataStore dataStore = DataStore.getInstance();
 
@@ -17,20 +31,175 @@ public class StudentServiceImplemenation implements StudentService {
             System.err.println("Cannot add a null student or a student with no registration number.");
             return;
         }
-        // Use the registration number as the unique key in our map.
-        dataStore.students.put(student.getRegNo(), student);
+        // Use the registration number as the unique key in the department's shard.
+        Student replaced = dataStore.shards.shard(student.getDepartment()).students.put(student.getRegNo(), student);
+        registered(student);
+        if (replaced != null && replaced != student) {
+            synchronized (student) {
+                rerank(student);
+            }
+        }
+    }
+
+    /**
+     * Adds the student only if the registration number is free. The check and the
+     * insert are one step, so two concurrent adds of the same student cannot both succeed.
+     *
+     * @return false if a student with that registration number already exists.
+     */
+    @Override
+    public boolean addStudentIfAbsent(Student student) {
+        if (student == null || student.getRegNo() == null) {
+            System.err.println("Cannot add a null student or a student with no registration number.");
+            return false;
+        }
+        if (dataStore.shards.shard(student.getDepartment()).students.putIfAbsent(student.getRegNo(), student) != null) {
+            return false;
+        }
+        registered(student);
+        return true;
+    }
+
+    private void registered(Student student) {
+        synchronized (student) {
+            dataStore.versions.publish(student);
+            // A re-added student is a new object, so index its own enrollments afresh.
+            dataStore.studentIndex.clearEnrollments(student.getRegNo());
+            student.getEnrolledCourses().forEach(e -> dataStore.studentIndex.enrolled(student.getRegNo(), e.getCourse().getCode()));
+            dataStore.studentIndex.update(student.getRegNo(), student.getDateOfBirth(), student.isActive());
+            dataStore.mutationListener.studentAdded(student);
+        }
+    }
+
+    // The replaced student's live grades no longer count; rank the new object on its own
+    // enrollments plus any archived ones, or drop it from the leaderboard if none are graded.
+    private void rerank(Student student) {
+        List<EnrollmentRecord> enrollments = new ArrayList<>(dataStore.archives.findEnrollments(student.getRegNo()));
+        student.getEnrolledCourses().forEach(e -> enrollments.add(EnrollmentRecord.of(e)));
+        if (enrollments.stream().noneMatch(e -> e.grade() != null)) {
+            dataStore.gpaLeaderboard.remove(student.getRegNo());
+            return;
+        }
+        StudentRecord record = new StudentRecord(student.getRegNo(), student.getFullName(), student.getEmail(),
+                student.getDateOfBirth(), student.isActive(), enrollments);
+        dataStore.gpaLeaderboard.update(student.getRegNo(), student.getDepartment(), record.gpa());
     }
 
     @Override
     public Optional<Student> findStudentByRegNo(String regNo) {
-        // Optional.ofNullable handles cases where the key might not exist.
-        return Optional.ofNullable(dataStore.students.get(regNo));
+        // The registration number names the department, so only that shard is consulted.
+        ShardedStore.Shard shard = dataStore.shards.existingShard(Student.departmentOf(regNo));
+        return Optional.ofNullable(shard == null ? null : shard.students.get(regNo));
+    }
+
+    /**
+     * A read-only view of a student found only in archived semesters, with all of
+     * their archived enrollments (oldest archive first), for profiles and transcripts.
+     * It is a record, not a {@link Student}, so nothing can be written through it.
+     */
+    @Override
+    public Optional<StudentRecord> findArchivedStudent(String regNo) {
+        return dataStore.archives.findStudent(regNo).map(profile -> new StudentRecord(profile.regNo(),
+                profile.fullName(), profile.email(), profile.dateOfBirth(), profile.active(),
+                dataStore.archives.findEnrollments(regNo)));
     }
 
     @Override
     public List<Student> getAllStudents() {
-        // Return a new ArrayList to prevent modification of the original map's values.
-        return new ArrayList<>(dataStore.students.values());
+        // Gathered from every shard in parallel into a new list the caller may modify.
+        return dataStore.shards.allStudents().collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Runs the query from the most selective maintained index among its filters
+     * (course membership, department shard, GPA leaderboard, date-of-birth index
+     * or active partition), choosing by each index's candidate count. Only with
+     * no indexed filter does it scan every shard in parallel. All filters are
+     * re-checked on the candidates, so results are exact.
+     *
+     * @return Matching students ordered by registration number.
+     */
+    @Override
+    public List<Student> findStudents(StudentQuery query) {
+        Plan plan = plan(query);
+        Stream<Student> candidates = plan.candidates().get();
+        if (plan.estimate() >= PARALLEL_THRESHOLD) candidates = candidates.parallel();
+        Stream<Student> matches = candidates
+                .filter(student -> matches(student, query))
+                .sorted(Comparator.comparing(Student::getRegNo));
+        if (query.getLimit() > 0) matches = matches.limit(query.getLimit());
+        return matches.collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * @return Which index the query would start from and how many candidates it yields.
+     */
+    @Override
+    public String explain(StudentQuery query) {
+        Plan plan = plan(query);
+        return plan.index() + " (" + plan.estimate() + " candidates)";
+    }
+
+    // A way to produce candidate students, with the number it will produce.
+    private record Plan(String index, int estimate, Supplier<Stream<Student>> candidates) { }
+
+    private Plan plan(StudentQuery query) {
+        // Course membership and GPA are only complete once every enrollment has been read.
+        if (query.getCourseCode() != null || query.hasGpaRange()) dataStore.ensureAllEnrollmentsLoaded();
+        List<Plan> plans = new ArrayList<>();
+        if (query.getCourseCode() != null) {
+            plans.add(new Plan("course index", dataStore.studentIndex.countEnrolledIn(query.getCourseCode()),
+                    () -> resolve(dataStore.studentIndex.enrolledIn(query.getCourseCode()))));
+        }
+        if (query.getDepartment() != null) {
+            ShardedStore.Shard shard = dataStore.shards.existingShard(query.getDepartment());
+            plans.add(new Plan("department shard", shard == null ? 0 : shard.students.size(),
+                    () -> shard == null ? Stream.empty() : shard.students.values().stream()));
+        }
+        if (query.hasGpaRange()) {
+            double min = query.getMinGpa() == null ? Double.NEGATIVE_INFINITY : query.getMinGpa();
+            double max = query.getMaxGpa() == null ? Double.POSITIVE_INFINITY : query.getMaxGpa();
+            plans.add(new Plan("GPA leaderboard", dataStore.gpaLeaderboard.countBetween(min, max),
+                    () -> resolve(dataStore.gpaLeaderboard.between(min, max))));
+        }
+        if (query.hasBirthRange()) {
+            plans.add(new Plan("date-of-birth index",
+                    dataStore.studentIndex.countBornBetween(query.getBornFrom(), query.getBornTo()),
+                    () -> resolve(dataStore.studentIndex.bornBetween(query.getBornFrom(), query.getBornTo()))));
+        }
+        if (query.getActive() != null) {
+            plans.add(new Plan("active partition", dataStore.studentIndex.countWithActive(query.getActive()),
+                    () -> resolve(dataStore.studentIndex.withActive(query.getActive()))));
+        }
+        return plans.stream()
+                .min(Comparator.comparingInt(Plan::estimate))
+                .orElseGet(() -> new Plan("parallel scan", Integer.MAX_VALUE, dataStore.shards::allStudents));
+    }
+
+    private Stream<Student> resolve(List<String> regNos) {
+        return regNos.stream()
+                .map(regNo -> {
+                    ShardedStore.Shard shard = dataStore.shards.existingShard(Student.departmentOf(regNo));
+                    return shard == null ? null : shard.students.get(regNo);
+                })
+                .filter(Objects::nonNull);
+    }
+
+    private boolean matches(Student student, StudentQuery query) {
+        if (query.getActive() != null && student.isActive() != query.getActive()) return false;
+        LocalDate dob = student.getDateOfBirth();
+        if (query.getBornFrom() != null && dob.isBefore(query.getBornFrom())) return false;
+        if (query.getBornTo() != null && dob.isAfter(query.getBornTo())) return false;
+        if (query.getDepartment() != null && !student.getDepartment().equalsIgnoreCase(query.getDepartment().trim())) return false;
+        if (query.getCourseCode() != null && student.getEnrolledCourses().stream()
+                .noneMatch(e -> e.getCourse().getCode().equals(query.getCourseCode()))) return false;
+        if (query.hasGpaRange()) {
+            OptionalDouble gpa = dataStore.gpaLeaderboard.gpaOf(student.getRegNo());
+            if (gpa.isEmpty()) return false;
+            if (query.getMinGpa() != null && gpa.getAsDouble() < query.getMinGpa()) return false;
+            if (query.getMaxGpa() != null && gpa.getAsDouble() > query.getMaxGpa()) return false;
+        }
+        return true;
     }
 
     @Override
@@ -39,8 +208,38 @@ public class StudentServiceImplemenation implements StudentService {
             return;
         }
         // `put` will overwrite the existing entry if the key exists.
-        if (dataStore.students.containsKey(student.getRegNo())) {
-            dataStore.students.put(student.getRegNo(), student);
+        ShardedStore.Shard shard = dataStore.shards.existingShard(student.getDepartment());
+        if (shard == null) return;
+        shard.lock.lock();
+        try {
+            if (!shard.students.containsKey(student.getRegNo())) return;
+            shard.students.put(student.getRegNo(), student);
+        } finally {
+            shard.lock.unlock();
+        }
+        synchronized (student) {
+            dataStore.versions.publish(student);
+            dataStore.studentIndex.update(student.getRegNo(), student.getDateOfBirth(), student.isActive());
+            dataStore.mutationListener.studentUpdated(student);
         }
     }
+
+    /**
+     * Opens a consistent point-in-time view of all students for long reads.
+     * The caller must close it (try-with-resources).
+     */
+    @Override
+    public VersionedStore.Snapshot openSnapshot() {
+        dataStore.ensureAllEnrollmentsLoaded(); // a snapshot must not miss enrollments still on disk
+        return dataStore.versions.openSnapshot();
+    }
+
+    /**
+     * The student's most recently committed state, never a half-applied change.
+     */
+    @Override
+    public StudentRecord getCommittedRecord(Student student) {
+        student.ensureEnrollmentsLoaded();
+        return dataStore.versions.latest(student.getRegNo()).orElseGet(() -> StudentRecord.of(student));
+    }
 }
\ No newline at end of file